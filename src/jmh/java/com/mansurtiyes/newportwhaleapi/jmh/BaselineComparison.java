@@ -0,0 +1,138 @@
+package com.mansurtiyes.newportwhaleapi.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result (-rf json) against the checked-in baseline and exits 1 on a regression.
+ *
+ * A benchmark regresses when its average time is worse than the baseline by more than the tolerance
+ * and by more than both runs' error bars, or when its normalized allocation (gc.alloc.rate.norm,
+ * only present with -prof gc) grows by more than the tolerance. Allocation is compared too because it
+ * is stable across machines, where wall time is not. Benchmarks missing from either side are listed, not failed.
+ * Runs on a different JDK feature release than the baseline are refused (exit 2): JIT and GC changes between
+ * releases move both metrics, so the baseline has to be re-recorded instead.
+ *
+ * mvn -Pjmh exec:exec@compare [-Djmh.result=...] [-Djmh.baseline=...] [-Djmh.tolerance=0.10]
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOC = "gc.alloc.rate.norm";
+
+    private BaselineComparison() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineComparison <result.json> <baseline.json> [tolerance]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 && !args[2].isBlank() ? Double.parseDouble(args[2]) : 0.10;
+        Map<String, JsonNode> current = load(Path.of(args[0]));
+        Map<String, JsonNode> baseline = load(Path.of(args[1]));
+        String nowJdk = jdk(current);
+        String baseJdk = jdk(baseline);
+        if (!feature(nowJdk).equals(feature(baseJdk))) {
+            System.err.printf("result ran on JDK %s but the baseline was recorded on JDK %s; re-record %s on this JDK%n",
+                    nowJdk, baseJdk, args[1]);
+            System.exit(2);
+        }
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-60s %12s %12s %8s %12s %12s %8s%n",
+                "benchmark", "base", "now", "time", "base B/op", "now B/op", "alloc");
+        for (Map.Entry<String, JsonNode> e : current.entrySet()) {
+            JsonNode base = baseline.get(e.getKey());
+            if (base == null) {
+                System.out.printf("%-60s %12s%n", e.getKey(), "(new)");
+                continue;
+            }
+            JsonNode now = e.getValue();
+            double baseScore = base.path("primaryMetric").path("score").asDouble();
+            double nowScore = now.path("primaryMetric").path("score").asDouble();
+            double noise = base.path("primaryMetric").path("scoreError").asDouble(0)
+                    + now.path("primaryMetric").path("scoreError").asDouble(0);
+            double timeDelta = relative(baseScore, nowScore);
+
+            double baseAlloc = alloc(base);
+            double nowAlloc = alloc(now);
+            double allocDelta = baseAlloc >= 0 && nowAlloc >= 0 ? relative(baseAlloc, nowAlloc) : Double.NaN;
+
+            System.out.printf("%-60s %12.3f %12.3f %+7.1f%% %12s %12s %8s%n", e.getKey(), baseScore, nowScore,
+                    timeDelta * 100, bytes(baseAlloc), bytes(nowAlloc),
+                    Double.isNaN(allocDelta) ? "" : String.format("%+.1f%%", allocDelta * 100));
+
+            if (timeDelta > tolerance && nowScore - baseScore > noise) {
+                regressions.add(String.format("%s: %.3f -> %.3f %s", e.getKey(), baseScore, nowScore,
+                        now.path("primaryMetric").path("scoreUnit").asText()));
+            }
+            // a few bytes of jitter on tiny numbers is not a regression
+            if (allocDelta > tolerance && nowAlloc - baseAlloc > 64) {
+                regressions.add(String.format("%s: %.0f -> %.0f B/op", e.getKey(), baseAlloc, nowAlloc));
+            }
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) System.out.printf("%-60s %12s%n", key, "(not run)");
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.printf("%n%d regression(s) beyond %.0f%%:%n", regressions.size(), tolerance * 100);
+            regressions.forEach(r -> System.out.println("  " + r));
+            System.exit(1);
+        }
+        System.out.printf("%nNo regressions beyond %.0f%%.%n", tolerance * 100);
+    }
+
+    // keyed by benchmark method + params, e.g. "TextNormalizerBenchmark.legacy(input=labels)"
+    private static Map<String, JsonNode> load(Path file) throws IOException {
+        Map<String, JsonNode> out = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(Files.readString(file))) {
+            String name = run.path("benchmark").asText();
+            StringBuilder key = new StringBuilder(name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1));
+            JsonNode params = run.path("params");
+            if (params.size() > 0) {
+                key.append('(');
+                for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> p = it.next();
+                    key.append(p.getKey()).append('=').append(p.getValue().asText());
+                    if (it.hasNext()) key.append(',');
+                }
+                key.append(')');
+            }
+            out.put(key.toString(), run);
+        }
+        return out;
+    }
+
+    private static String jdk(Map<String, JsonNode> runs) {
+        return runs.isEmpty() ? "" : runs.values().iterator().next().path("jdkVersion").asText();
+    }
+
+    // "21.0.1" -> "21", "1.8.0_392" -> "1.8"
+    private static String feature(String jdkVersion) {
+        String[] parts = jdkVersion.split("[._+-]");
+        return parts[0].equals("1") && parts.length > 1 ? "1." + parts[1] : parts[0];
+    }
+
+    private static double alloc(JsonNode run) {
+        JsonNode m = run.path("secondaryMetrics").path(ALLOC);
+        return m.isMissingNode() ? -1 : m.path("score").asDouble();
+    }
+
+    // positive = worse, for both average time and bytes/op
+    private static double relative(double base, double now) {
+        return base == 0 ? 0 : (now - base) / base;
+    }
+
+    private static String bytes(double b) {
+        return b < 0 ? "" : String.format("%.0f", b);
+    }
+}
@@ -0,0 +1,73 @@
+package com.mansurtiyes.newportwhaleapi.jmh;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ChecksumAlgorithm;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+import com.mansurtiyes.newportwhaleapi.ingest.WhaleCountParser;
+import com.mansurtiyes.newportwhaleapi.ingest.resolve.LegacyCanonical;
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checksumming every report parsed from the whalecount.html fixture, one op = the whole page:
+ *  - legacy:  new ObjectMapper per report, LinkedHashMap canonical, String -> UTF-8 -> MD5
+ *  - md5:     ParsedReport with the streaming canonical hasher (same UUIDs as legacy)
+ *  - murmur3: same, with the 128-bit MurmurHash3 sink
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ChecksumBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChecksumBenchmark {
+
+    private List<ParsedReport> reports;
+
+    @Setup
+    public void setUp() {
+        reports = new WhaleCountParser(Fixtures.resolver()).parse(Jsoup.parse(Fixtures.page(), Fixtures.PAGE_URL), Fixtures.PAGE_URL);
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        for (ParsedReport r : reports) {
+            String canonical = LegacyCanonical.canonical(r.getDate(), r.getTours(), r.getStatus(), r.getObservations());
+            bh.consume(UUID.nameUUIDFromBytes(canonical.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Benchmark
+    public void md5(Blackhole bh) {
+        rebuild(bh, ChecksumAlgorithm.MD5);
+    }
+
+    @Benchmark
+    public void murmur3(Blackhole bh) {
+        rebuild(bh, ChecksumAlgorithm.MURMUR3_128);
+    }
+
+    // the constructor is where the checksum happens; the observation copy + sort is paid by legacy's parse too
+    private void rebuild(Blackhole bh, ChecksumAlgorithm algorithm) {
+        for (ParsedReport r : reports) {
+            bh.consume(new ParsedReport(r.getDate(), r.getTours(), r.getStatus(), r.getObservations(),
+                    r.getSourceUrl(), algorithm).getChecksum());
+        }
+    }
+}
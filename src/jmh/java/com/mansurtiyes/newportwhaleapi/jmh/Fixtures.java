@@ -0,0 +1,53 @@
+package com.mansurtiyes.newportwhaleapi.jmh;
+
+import com.mansurtiyes.newportwhaleapi.ingest.resolve.InMemorySpeciesResolver;
+import com.mansurtiyes.newportwhaleapi.ingest.resolve.SeedAliases;
+import com.mansurtiyes.newportwhaleapi.repository.SpeciesRepository;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Shared benchmark inputs: the whalecount.html fixture and a resolver loaded from the V2 seed aliases. */
+final class Fixtures {
+
+    static final String PAGE_URL = "https://newportwhales.com/whalecount.html";
+
+    private Fixtures() {}
+
+    static String page() {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/whalecount.html")) {
+            if (in == null) throw new IllegalStateException("fixtures/whalecount.html not on the test classpath");
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The "mammals viewed" cell of every data row, in page order. */
+    static List<String> details() {
+        List<String> out = new ArrayList<>();
+        for (Element row : Jsoup.parse(page(), PAGE_URL).select("table.data-table tbody > tr:has(td)")) {
+            if (row.select("td").size() >= 3) out.add(row.select("td").get(2).text());
+        }
+        return out;
+    }
+
+    static InMemorySpeciesResolver resolver() {
+        // reload() is never called, so the repository is never touched
+        SpeciesRepository unused = (SpeciesRepository) Proxy.newProxyInstance(
+                SpeciesRepository.class.getClassLoader(), new Class<?>[]{SpeciesRepository.class},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException("benchmarks load aliases from the seed SQL");
+                });
+        InMemorySpeciesResolver resolver = new InMemorySpeciesResolver(unused);
+        resolver.load(SeedAliases.fromMigration());
+        return resolver;
+    }
+}
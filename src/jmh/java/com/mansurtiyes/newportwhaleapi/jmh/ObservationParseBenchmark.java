@@ -0,0 +1,63 @@
+package com.mansurtiyes.newportwhaleapi.jmh;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.ingest.WhaleCountParser;
+import com.mansurtiyes.newportwhaleapi.ingest.resolve.InMemorySpeciesResolver;
+import com.mansurtiyes.newportwhaleapi.ingest.resolve.LegacyObservationParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * parseObservations over every details cell of the whalecount.html fixture (one op = the whole page):
+ * the hand-written scanner vs the previous regex split/match path.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ObservationParseBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObservationParseBenchmark {
+
+    private List<String> details;
+    private WhaleCountParser scanner;
+    private LegacyObservationParser regex;
+
+    @Setup
+    public void setUp() {
+        details = Fixtures.details();
+        InMemorySpeciesResolver resolver = Fixtures.resolver();
+        scanner = new WhaleCountParser(resolver);
+        regex = new LegacyObservationParser(resolver);
+    }
+
+    @Benchmark
+    public void scanner(Blackhole bh) {
+        for (String d : details) {
+            List<ParsedObservation> obs = scanner.parseObservations(d);
+            bh.consume(obs);
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole bh) {
+        for (String d : details) {
+            List<ParsedObservation> obs = regex.parseObservations(d);
+            bh.consume(obs);
+        }
+    }
+}
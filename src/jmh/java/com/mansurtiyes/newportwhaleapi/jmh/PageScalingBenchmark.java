@@ -0,0 +1,81 @@
+package com.mansurtiyes.newportwhaleapi.jmh;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+import com.mansurtiyes.newportwhaleapi.ingest.WhaleCountParser;
+import com.mansurtiyes.newportwhaleapi.ingest.resolve.SyntheticWhaleCountPage;
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The fetch-less ingest path (parse -> resolve -> checksum) on generated Recent Counts pages of growing size,
+ * one op = one whole page. Reported as pages/s, with a "reports" counter in reports/s; -prof gc adds B/op.
+ *  - dom:    Jsoup.parse of the page, then parse(Document); memory grows with the page
+ *  - stream: parse(Reader, sink); rows are dropped as soon as they are parsed
+ *
+ * Flat reports/s across sizes means linear scaling; a drop marks where it stops. 1M rows needs the bigger heap:
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="PageScalingBenchmark -p rows=1000000 -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PageScalingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private String html;
+    private WhaleCountParser parser;
+
+    @Setup
+    public void setUp() {
+        html = SyntheticWhaleCountPage.builder().rows(rows).build().html();
+        parser = new WhaleCountParser(Fixtures.resolver());
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Reports {
+        public long reports;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            reports = 0;
+        }
+    }
+
+    @Benchmark
+    public void dom(Reports counter, Blackhole bh) {
+        List<ParsedReport> out = parser.parse(Jsoup.parse(html, Fixtures.PAGE_URL), Fixtures.PAGE_URL);
+        counter.reports += out.size();
+        bh.consume(out);
+    }
+
+    @Benchmark
+    public void stream(Reports counter, Blackhole bh) throws IOException {
+        parser.parse(new StringReader(html), Fixtures.PAGE_URL, r -> {
+            counter.reports++;
+            bh.consume(r);
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.mansurtiyes.newportwhaleapi.jmh;
+
+import com.mansurtiyes.newportwhaleapi.ingest.resolve.InMemorySpeciesResolver;
+import com.mansurtiyes.newportwhaleapi.ingest.resolve.SeedAliases;
+import com.mansurtiyes.newportwhaleapi.ingest.resolve.TextNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InMemorySpeciesResolver over every seeded alias plus a few labels the page uses that match nothing,
+ * one op = the whole label set:
+ *  - resolve: raw page-cased labels through the memo (steady state after the first page)
+ *  - span:    the same labels pre-normalized, through resolveSpan's span memo (no norm, no substring)
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="SpeciesResolveBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpeciesResolveBenchmark {
+
+    private static final List<String> UNKNOWN = List.of("Sunfish", "Sea Lions", "Mola Mola", "Juvenile Sea Turtle");
+
+    private InMemorySpeciesResolver resolver;
+    private List<String> raw;
+    private List<String> normalized;
+
+    @Setup
+    public void setUp() {
+        resolver = Fixtures.resolver();
+        raw = new ArrayList<>();
+        SeedAliases.fromMigration().values().stream()
+                .flatMap(Collection::stream)
+                .map(a -> "Juvenile " + Character.toUpperCase(a.charAt(0)) + a.substring(1))
+                .forEach(raw::add);
+        raw.addAll(UNKNOWN);
+        normalized = raw.stream().map(TextNormalizer::norm).toList();
+    }
+
+    @Benchmark
+    public void resolve(Blackhole bh) {
+        for (String label : raw) bh.consume(resolver.resolve(label));
+    }
+
+    @Benchmark
+    public void span(Blackhole bh) {
+        for (String label : normalized) bh.consume(resolver.resolveSpan(label, 0, label.length()));
+    }
+}
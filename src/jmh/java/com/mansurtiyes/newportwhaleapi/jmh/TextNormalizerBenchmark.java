@@ -0,0 +1,78 @@
+package com.mansurtiyes.newportwhaleapi.jmh;
+
+import com.mansurtiyes.newportwhaleapi.ingest.resolve.LegacyTextNormalizer;
+import com.mansurtiyes.newportwhaleapi.ingest.resolve.SeedAliases;
+import com.mansurtiyes.newportwhaleapi.ingest.resolve.TextNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TextNormalizer.norm vs the original NFKC/replace/toLowerCase/replaceAll chain, one op = the whole input set:
+ *  - details: every "mammals viewed" cell of the whalecount.html fixture (raw page casing)
+ *  - labels:  every seeded alias, title-cased the way the page writes them
+ *  - unicode: the details with curly apostrophes and en dashes, forcing the non-ASCII path
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="TextNormalizerBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextNormalizerBenchmark {
+
+    @Param({"details", "labels", "unicode"})
+    public String input;
+
+    private List<String> strings;
+
+    @Setup
+    public void setUp() {
+        strings = switch (input) {
+            case "details" -> Fixtures.details();
+            case "labels" -> SeedAliases.fromMigration().values().stream()
+                    .flatMap(Collection::stream)
+                    .map(TextNormalizerBenchmark::titleCase)
+                    .toList();
+            case "unicode" -> Fixtures.details().stream()
+                    .map(d -> d.replace("'", "’").replace(", ", " – "))
+                    .toList();
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole bh) {
+        for (String s : strings) bh.consume(TextNormalizer.norm(s));
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        for (String s : strings) bh.consume(LegacyTextNormalizer.norm(s));
+    }
+
+    private static String titleCase(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        boolean start = true;
+        for (char c : s.toCharArray()) {
+            sb.append(start ? Character.toUpperCase(c) : c);
+            start = c == ' ';
+        }
+        return sb.toString();
+    }
+}
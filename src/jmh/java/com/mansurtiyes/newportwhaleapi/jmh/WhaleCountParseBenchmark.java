@@ -0,0 +1,64 @@
+package com.mansurtiyes.newportwhaleapi.jmh;
+
+import com.mansurtiyes.newportwhaleapi.ingest.WhaleCountParser;
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full WhaleCountParser.parse of the whalecount.html fixture, from page text to checksummed reports:
+ *  - dom:    Jsoup.parse of the whole page, then parse(Document)
+ *  - stream: parse(Reader, sink), which stops at the end of the Recent Counts table
+ *  - streamIncremental: parse(Reader, since, sink) with the default 7-day lookback from the newest row,
+ *                       as a routine ingest run does
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="WhaleCountParseBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WhaleCountParseBenchmark {
+
+    private String page;
+    private WhaleCountParser parser;
+    private LocalDate since;
+
+    @Setup
+    public void setUp() {
+        page = Fixtures.page();
+        parser = new WhaleCountParser(Fixtures.resolver());
+        since = parser.parse(Jsoup.parse(page, Fixtures.PAGE_URL), Fixtures.PAGE_URL).get(0).getDate().minusDays(7);
+    }
+
+    @Benchmark
+    public void dom(Blackhole bh) {
+        bh.consume(parser.parse(Jsoup.parse(page, Fixtures.PAGE_URL), Fixtures.PAGE_URL));
+    }
+
+    @Benchmark
+    public void stream(Blackhole bh) throws IOException {
+        parser.parse(new StringReader(page), Fixtures.PAGE_URL, bh::consume);
+    }
+
+    @Benchmark
+    public void streamIncremental(Blackhole bh) throws IOException {
+        parser.parse(new StringReader(page), Fixtures.PAGE_URL, since, bh::consume);
+    }
+}
@@ -1,12 +1,15 @@
 package com.mansurtiyes.newportwhaleapi.controller;
 
+import com.mansurtiyes.newportwhaleapi.dto.CountMode;
+import com.mansurtiyes.newportwhaleapi.dto.CursorPage;
 import com.mansurtiyes.newportwhaleapi.dto.report.ReportDTO;
 import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
 import com.mansurtiyes.newportwhaleapi.model.SightingGroup;
 import com.mansurtiyes.newportwhaleapi.service.ReportService;
 import jakarta.annotation.Nullable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -34,9 +37,11 @@ public class ReportController {
      * - hasSightings: when true => include days with sightings (of given group if provided),
      *                 when false => include days without sightings (of given group if provided)
      * - status: ok | bad_weather
+     * - count: exact (default) | estimate | none. none answers with a Slice (hasNext, no totals) from one query;
+     *          estimate fills totalElements from planner statistics instead of COUNT(*).
      */
     @GetMapping
-    public ResponseEntity<Page<ReportDTO>> getReports(
+    public ResponseEntity<Slice<ReportDTO>> getReports(
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Nullable LocalDate start,
             @RequestParam(required = false)
@@ -45,10 +50,41 @@ public class ReportController {
             @RequestParam(required = false) @Nullable SightingGroup group,
             @RequestParam(required = false) @Nullable Boolean hasSightings,
             @RequestParam(required = false) @Nullable ReportStatus status,
+            @RequestParam(defaultValue = "exact") CountMode count,
             Pageable pageable
     ) {
-        Page<ReportDTO> page = reportService.getReports(
-                start, end, speciesId, group, hasSightings, status, pageable
+        Slice<ReportDTO> page = reportService.getReports(
+                start, end, speciesId, group, hasSightings, status, pageable, count
+        );
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * GET /api/v1/reports?cursor=...
+     * Same filters, paged by keyset instead of page number: no totals, and page N costs the same as page 0.
+     * Start with an empty cursor ({@code ?cursor=}) and pass each response's nextCursor back as the cursor.
+     *
+     * Query params (besides the filters above):
+     * - size: rows per page (default 20)
+     * - sort: date | tours | status | fetchedAt, as for page-number pages; date breaks ties.
+     *         Must stay the same for every page of one walk.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<ReportDTO>> getReportsAfter(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Nullable LocalDate start,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Nullable LocalDate end,
+            @RequestParam(required = false) @Nullable String speciesId,
+            @RequestParam(required = false) @Nullable SightingGroup group,
+            @RequestParam(required = false) @Nullable Boolean hasSightings,
+            @RequestParam(required = false) @Nullable ReportStatus status,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Sort sort
+    ) {
+        CursorPage<ReportDTO> page = reportService.getReportsAfter(
+                start, end, speciesId, group, hasSightings, status, sort, cursor, size
         );
         return ResponseEntity.ok(page);
     }
@@ -1,10 +1,11 @@
 package com.mansurtiyes.newportwhaleapi.controller;
 
+import com.mansurtiyes.newportwhaleapi.dto.CountMode;
 import com.mansurtiyes.newportwhaleapi.dto.SpeciesDTO;
 import com.mansurtiyes.newportwhaleapi.model.SightingGroup;
 import com.mansurtiyes.newportwhaleapi.service.SpeciesService;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,18 +29,21 @@ public class SpeciesController {
      *
      * @param group   optional group filter (whale|dolphin|shark|fish|other), case-insensitive
      * @param search  optional text search across id/common/binomial/aliases
+     * @param count   exact (default) | estimate | none; none returns a Slice (hasNext only, no count query)
      * @param pageable standard Spring pageable (page,size);
      */
     @GetMapping
-    public ResponseEntity<Page<SpeciesDTO>> getAllSpecies(
+    public ResponseEntity<Slice<SpeciesDTO>> getAllSpecies(
             @RequestParam(required = false) String group,
             @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "exact") CountMode count,
             Pageable pageable
     ) {
-        Page<SpeciesDTO> species = speciesService.getAllSpecies(
+        Slice<SpeciesDTO> species = speciesService.getAllSpecies(
                 group != null ? SightingGroup.valueOf(group.toLowerCase(Locale.ROOT)) : null,
                 search,
-                pageable
+                pageable,
+                count
         );
         return ResponseEntity.ok(species);
     }
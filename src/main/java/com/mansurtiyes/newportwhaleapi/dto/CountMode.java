@@ -0,0 +1,15 @@
+package com.mansurtiyes.newportwhaleapi.dto;
+
+/**
+ * How a list page reports its total ({@code ?count=}).
+ * <ul>
+ *   <li>{@code exact}: a separate COUNT(*) with the page's filters (Spring Page, the default)</li>
+ *   <li>{@code estimate}: the planner's row estimate instead of a count; exact when the page is the last one</li>
+ *   <li>{@code none}: no total, only whether another page follows (Spring Slice, one page query)</li>
+ * </ul>
+ */
+public enum CountMode {
+    exact,
+    estimate,
+    none
+}
@@ -0,0 +1,12 @@
+package com.mansurtiyes.newportwhaleapi.dto;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * One keyset page. There are no totals or page numbers: pass {@code nextCursor} back as {@code cursor} to get
+ * the rows after this page; it is null on the last page.
+ */
+public record CursorPage<T>(List<T> content, int size, boolean hasNext, @Nullable String nextCursor) {
+}
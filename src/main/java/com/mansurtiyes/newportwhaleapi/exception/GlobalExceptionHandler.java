@@ -31,6 +31,7 @@ public class GlobalExceptionHandler {
     // 400: bad input / binding / validation
     @ExceptionHandler({
             IllegalArgumentException.class,
+            InvalidCursorException.class,
             MethodArgumentTypeMismatchException.class,
             MissingServletRequestParameterException.class,
             ConversionFailedException.class,
@@ -0,0 +1,11 @@
+package com.mansurtiyes.newportwhaleapi.exception;
+
+/**
+ * A keyset cursor that is malformed or was issued for a different sort. Not an IllegalArgumentException on
+ * purpose: repository exception translation would turn that into a DataAccessException (500).
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
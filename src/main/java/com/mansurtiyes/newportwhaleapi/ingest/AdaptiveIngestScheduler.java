@@ -0,0 +1,122 @@
+package com.mansurtiyes.newportwhaleapi.ingest;
+
+import com.mansurtiyes.newportwhaleapi.repository.DailyReportRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.random.RandomGenerator;
+
+/**
+ * Polls every configured source on an {@link AdaptivePollPlan} instead of a fixed daily cron: often while tours
+ * are reporting and the page keeps changing, less and less often while it doesn't, with jittered retries after
+ * failures. Each poll schedules the next one, so runs never overlap.
+ * <p>
+ * The bootstrap ingest is simply the first poll, started on the scheduler thread once the application is ready,
+ * so the port opens without waiting for the upstream page. Its progress, and the outcome of every later poll,
+ * is reported by {@link IngestHealthIndicator}.
+ * <p>
+ * The current interval and next run time are published through {@link IngestMetrics}
+ * (ingest_schedule_interval_seconds, ingest_schedule_next_run_seconds).
+ */
+@Component
+public class AdaptiveIngestScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveIngestScheduler.class);
+
+    private final IngestService ingestService;
+    private final TaskScheduler taskScheduler;
+    private final IngestMetrics metrics;
+    private final IngestHealthIndicator health;
+    private final DailyReportRepository dailyReportRepo;
+    private final boolean enabled;
+    private final boolean bootstrap;
+    private final AdaptivePollPlan plan;
+
+    private ScheduledFuture<?> next;
+    private boolean stopped;
+
+    public AdaptiveIngestScheduler(IngestService ingestService, TaskScheduler taskScheduler, IngestProperties props,
+                                   IngestMetrics metrics, IngestHealthIndicator health,
+                                   DailyReportRepository dailyReportRepo) {
+        this.ingestService = ingestService;
+        this.taskScheduler = taskScheduler;
+        this.metrics = metrics;
+        this.health = health;
+        this.dailyReportRepo = dailyReportRepo;
+        this.enabled = props.schedule().enabled();
+        this.bootstrap = props.schedule().bootstrap();
+        this.plan = new AdaptivePollPlan(props.schedule(), RandomGenerator.getDefault());
+    }
+
+    /**
+     * Starts the bootstrap ingest in the background (or, without one, plans the first poll) once the application
+     * is up and serving.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (next != null) return;
+        if (bootstrap) {
+            health.ingesting(hasStoredReports());
+            next = taskScheduler.schedule(this::poll, now());
+        } else if (enabled) {
+            scheduleAt(plan.first(now()));
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        stopped = true;
+        if (next != null) next.cancel(false);
+    }
+
+    void poll() {
+        Instant at;
+        try {
+            log.info("Scheduled ingest starting (interval {})…", plan.interval());
+            IngestResult result = ingestService.ingest();
+            health.finished(result);
+            if (result.outcome() == IngestResult.Outcome.LOCKED) {
+                at = plan.afterLocked(now());   // the lock holder's poll is not evidence that the page is quiet
+            } else {
+                at = result.isComplete()
+                        ? plan.afterRun(now(), result.changed() > 0)
+                        : plan.afterFailure(now());
+            }
+            log.info("Scheduled ingest finished: {} ({} changed)", result.outcome(), result.changed());
+        } catch (Exception e) {
+            // swallow errors so polling keeps going
+            health.failed(e);
+            at = plan.afterFailure(now());
+            log.error("Scheduled ingest failed ({} in a row)", plan.consecutiveFailures(), e);
+        }
+        scheduleAt(at);
+    }
+
+    // whether the API has anything to serve while the bootstrap runs; an unreachable DB counts as no
+    private boolean hasStoredReports() {
+        try {
+            return dailyReportRepo.findNewestReportDate().isPresent();
+        } catch (RuntimeException e) {
+            log.warn("Could not check for stored reports: {}", e.toString());
+            return false;
+        }
+    }
+
+    private synchronized void scheduleAt(Instant at) {
+        if (stopped || !enabled) return;
+        next = taskScheduler.schedule(this::poll, at);
+        metrics.scheduled(plan.interval(), at);
+        log.debug("Next scheduled ingest at {} (interval {}, failures {})", at, plan.interval(), plan.consecutiveFailures());
+    }
+
+    private Instant now() {
+        return taskScheduler.getClock().instant();
+    }
+}
@@ -0,0 +1,103 @@
+package com.mansurtiyes.newportwhaleapi.ingest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides when the next ingest poll runs; no clock or threads of its own, so it can be tested with plain instants.
+ * <ul>
+ *   <li>a poll that found a changed day resets the interval to {@code minInterval}</li>
+ *   <li>each poll that found nothing new multiplies it by {@code backoff}, up to {@code maxInterval}</li>
+ *   <li>a failed run is retried after {@code retryBase * 2^(failures-1)} (capped at {@code retryMax}),
+ *       shortened by a random share of up to {@code jitter}; the interval is left alone</li>
+ *   <li>a run left to the instance holding the ingest lock says nothing about the page, so the interval is kept,
+ *       lengthened by a random share of up to {@code jitter} so replicas drift apart</li>
+ *   <li>a poll that would fall outside the active window moves to the window's next start,
+ *       and the interval starts over from {@code minInterval} there</li>
+ * </ul>
+ * Not thread-safe; the scheduler calls it from one poll at a time.
+ */
+public final class AdaptivePollPlan {
+
+    private final IngestProperties.Schedule schedule;
+    private final RandomGenerator random;
+
+    private Duration interval;
+    private int failures;
+
+    public AdaptivePollPlan(IngestProperties.Schedule schedule, RandomGenerator random) {
+        if (schedule.minInterval().isZero() || schedule.minInterval().isNegative()) {
+            throw new IllegalArgumentException("minInterval must be > 0");
+        }
+        if (schedule.maxInterval().compareTo(schedule.minInterval()) < 0) {
+            throw new IllegalArgumentException("maxInterval must be >= minInterval");
+        }
+        this.schedule = schedule;
+        this.random = random;
+        this.interval = schedule.minInterval();
+    }
+
+    /** First poll after startup (the bootstrap ingest has just run). */
+    public Instant first(Instant now) {
+        return inWindow(now.plus(interval));
+    }
+
+    /** @param changed whether the run wrote at least one new or changed day */
+    public Instant afterRun(Instant now, boolean changed) {
+        failures = 0;
+        if (changed) {
+            interval = schedule.minInterval();
+        } else {
+            long next = (long) (interval.toMillis() * Math.max(1.0, schedule.backoff()));
+            interval = Duration.ofMillis(Math.min(next, schedule.maxInterval().toMillis()));
+        }
+        return inWindow(now.plus(interval));
+    }
+
+    /** The run was {@link IngestResult.Outcome#LOCKED}: another instance polled, so neither back off nor reset. */
+    public Instant afterLocked(Instant now) {
+        failures = 0;
+        long delay = interval.toMillis();
+        delay += (long) (delay * Math.clamp(schedule.jitter(), 0.0, 1.0) * random.nextDouble());
+        return inWindow(now.plusMillis(delay));
+    }
+
+    public Instant afterFailure(Instant now) {
+        failures++;
+        long delay = schedule.retryBase().toMillis() << Math.min(failures - 1, 20);
+        delay = Math.min(delay, schedule.retryMax().toMillis());
+        double jitter = Math.clamp(schedule.jitter(), 0.0, 1.0);
+        delay -= (long) (delay * jitter * random.nextDouble());
+        return inWindow(now.plusMillis(Math.max(delay, 1)));
+    }
+
+    public Duration interval() {
+        return interval;
+    }
+
+    public int consecutiveFailures() {
+        return failures;
+    }
+
+    // candidate if it falls in [activeFrom, activeUntil) local time, else the next activeFrom (interval reset)
+    private Instant inWindow(Instant candidate) {
+        LocalTime from = schedule.activeFrom();
+        LocalTime until = schedule.activeUntil();
+        if (from.equals(until)) return candidate;   // window covers the whole day
+
+        ZonedDateTime local = candidate.atZone(schedule.zone());
+        LocalTime t = local.toLocalTime();
+        boolean active = from.isBefore(until)
+                ? !t.isBefore(from) && t.isBefore(until)
+                : !t.isBefore(from) || t.isBefore(until);   // window across midnight
+        if (active) return candidate;
+
+        ZonedDateTime start = local.with(from);
+        if (!start.isAfter(local)) start = start.plusDays(1);
+        interval = schedule.minInterval();
+        return start.toInstant();
+    }
+}
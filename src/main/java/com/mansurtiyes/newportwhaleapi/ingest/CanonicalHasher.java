@@ -0,0 +1,296 @@
+package com.mansurtiyes.newportwhaleapi.ingest;
+
+import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Writes a report's canonical JSON straight into a digest, byte for byte what Jackson produced for
+ * the old LinkedHashMap form:
+ * {"date":"2025-08-12","tours":14,"status":"ok","observations":[{"speciesId":"fin-whale","count":4}]}
+ * No ObjectMapper, maps or intermediate String; the MD5 digest is reused per thread.
+ */
+final class CanonicalHasher {
+
+    private static final byte[] DATE = ascii("{\"date\":\"");
+    private static final byte[] TOURS = ascii("\",\"tours\":");
+    private static final byte[] STATUS = ascii(",\"status\":\"");
+    private static final byte[] OBSERVATIONS = ascii("\",\"observations\":[");
+    private static final byte[] SPECIES = ascii("{\"speciesId\":\"");
+    private static final byte[] COUNT = ascii("\",\"count\":");
+    private static final byte[] END = ascii("]}");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    private static final ThreadLocal<Md5Sink> MD5 = ThreadLocal.withInitial(Md5Sink::new);
+
+    private CanonicalHasher() {}
+
+    /** @param observations already in canonical (speciesId) order */
+    static UUID checksum(LocalDate date, int tours, ReportStatus status, List<ParsedObservation> observations,
+                         ChecksumAlgorithm algorithm) {
+        if (algorithm == ChecksumAlgorithm.MURMUR3_128) {
+            Murmur3Sink sink = new Murmur3Sink();
+            write(sink, date, tours, status, observations);
+            return sink.uuid();
+        }
+        Md5Sink sink = MD5.get();
+        sink.reset();
+        write(sink, date, tours, status, observations);
+        return sink.uuid();
+    }
+
+    /** The canonical JSON itself, for debugging and tests; not used on the hashing path. */
+    static String canonical(LocalDate date, int tours, ReportStatus status, List<ParsedObservation> observations) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        write(new Sink() {
+            @Override public void write(int b) { out.write(b); }
+            @Override public void write(byte[] b) { out.write(b, 0, b.length); }
+        }, date, tours, status, observations);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void write(Sink sink, LocalDate date, int tours, ReportStatus status,
+                              List<ParsedObservation> observations) {
+        sink.write(DATE);
+        writeDate(sink, date);
+        sink.write(TOURS);
+        writeInt(sink, tours);
+        sink.write(STATUS);
+        writeString(sink, status.name().toLowerCase(Locale.ROOT));
+        sink.write(OBSERVATIONS);
+        for (int i = 0; i < observations.size(); i++) {
+            ParsedObservation o = observations.get(i);
+            if (i > 0) sink.write(',');
+            sink.write(SPECIES);
+            writeString(sink, o.speciesId());
+            sink.write(COUNT);
+            writeInt(sink, o.individuals());
+            sink.write('}');
+        }
+        sink.write(END);
+    }
+
+    // LocalDate.toString() without the String for the common yyyy-MM-dd range
+    private static void writeDate(Sink sink, LocalDate date) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            writeString(sink, date.toString());
+            return;
+        }
+        writeDigits(sink, year, 4);
+        sink.write('-');
+        writeDigits(sink, date.getMonthValue(), 2);
+        sink.write('-');
+        writeDigits(sink, date.getDayOfMonth(), 2);
+    }
+
+    private static void writeDigits(Sink sink, int value, int width) {
+        for (int div = width == 4 ? 1000 : 10; div > 0; div /= 10) {
+            sink.write('0' + (value / div) % 10);
+        }
+    }
+
+    private static void writeInt(Sink sink, int value) {
+        long v = value;
+        if (v < 0) {
+            sink.write('-');
+            v = -v;
+        }
+        long div = 1;
+        while (div * 10 <= v) div *= 10;
+        for (; div > 0; div /= 10) {
+            sink.write((int) ('0' + (v / div) % 10));
+        }
+    }
+
+    // JSON string body as Jackson writes it by default: UTF-8, escaping only '"', '\' and control chars
+    private static void writeString(Sink sink, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    sink.write(c);
+                    continue;
+                }
+                sink.write('\\');
+                switch (c) {
+                    case '"' -> sink.write('"');
+                    case '\\' -> sink.write('\\');
+                    case '\b' -> sink.write('b');
+                    case '\f' -> sink.write('f');
+                    case '\n' -> sink.write('n');
+                    case '\r' -> sink.write('r');
+                    case '\t' -> sink.write('t');
+                    default -> {
+                        sink.write('u');
+                        sink.write('0');
+                        sink.write('0');
+                        sink.write(HEX[c >> 4]);
+                        sink.write(HEX[c & 0xF]);
+                    }
+                }
+            } else if (c < 0x800) {
+                sink.write(0xC0 | (c >> 6));
+                sink.write(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                sink.write(0xF0 | (cp >> 18));
+                sink.write(0x80 | ((cp >> 12) & 0x3F));
+                sink.write(0x80 | ((cp >> 6) & 0x3F));
+                sink.write(0x80 | (cp & 0x3F));
+            } else {
+                sink.write(0xE0 | (c >> 12));
+                sink.write(0x80 | ((c >> 6) & 0x3F));
+                sink.write(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // ---- sinks ----
+
+    private interface Sink {
+        void write(int b);
+        void write(byte[] b);
+    }
+
+    // buffers small writes so MessageDigest.update is called per 256 bytes, not per byte
+    private static final class Md5Sink implements Sink {
+        private final MessageDigest md5;
+        private final byte[] buf = new byte[256];
+        private int pos;
+
+        Md5Sink() {
+            try {
+                md5 = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new InternalError("MD5 not supported", e);
+            }
+        }
+
+        void reset() {
+            md5.reset();
+            pos = 0;
+        }
+
+        @Override
+        public void write(int b) {
+            if (pos == buf.length) flush();
+            buf[pos++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b) {
+            if (pos + b.length > buf.length) flush();
+            System.arraycopy(b, 0, buf, pos, b.length); // constants are far shorter than the buffer
+            pos += b.length;
+        }
+
+        private void flush() {
+            md5.update(buf, 0, pos);
+            pos = 0;
+        }
+
+        UUID uuid() {
+            flush();
+            return CheckSumUtil.toNameUuid(md5.digest());
+        }
+    }
+
+    // MurmurHash3_x64_128, seed 0, fed incrementally in 16-byte blocks
+    private static final class Murmur3Sink implements Sink {
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private long h1;
+        private long h2;
+        private long k1;    // current block being filled, little-endian
+        private long k2;
+        private int blockPos;
+        private long length;
+
+        @Override
+        public void write(int b) {
+            long v = b & 0xFFL;
+            if (blockPos < 8) k1 |= v << (8 * blockPos);
+            else k2 |= v << (8 * (blockPos - 8));
+            length++;
+            if (++blockPos == 16) {
+                mixBlock();
+                k1 = 0;
+                k2 = 0;
+                blockPos = 0;
+            }
+        }
+
+        @Override
+        public void write(byte[] b) {
+            for (byte x : b) write(x);
+        }
+
+        private void mixBlock() {
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        UUID uuid() {
+            if (blockPos > 0) {   // tail
+                h1 ^= mixK1(k1);
+                h2 ^= mixK2(k2);
+            }
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix64(h1);
+            h2 = fmix64(h2);
+            h1 += h2;
+            h2 += h1;
+
+            // version 8 (custom) + IETF variant, so these never look like the MD5 v3 ids
+            long msb = (h1 & ~0xF000L) | 0x8000L;
+            long lsb = (h2 & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+            return new UUID(msb, lsb);
+        }
+
+        private static long mixK1(long k1) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            return k1;
+        }
+
+        private static long mixK2(long k2) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            return k2;
+        }
+
+        private static long fmix64(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
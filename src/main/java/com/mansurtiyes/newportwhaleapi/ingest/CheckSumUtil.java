@@ -1,6 +1,8 @@
 package com.mansurtiyes.newportwhaleapi.ingest;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.UUID;
 
 public final class CheckSumUtil {
@@ -21,4 +23,32 @@ public final class CheckSumUtil {
         }
         return UUID.nameUUIDFromBytes(canonical.getBytes(StandardCharsets.UTF_8));
     }
+
+    /**
+     * Same MD5 name-based (version 3) UUID as {@link UUID#nameUUIDFromBytes(byte[])},
+     * computed over a slice of a buffer so callers don't have to copy it out first.
+     */
+    public static UUID checksumFromBytes(byte[] bytes, int offset, int length) {
+        MessageDigest md5;
+        try {
+            md5 = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new InternalError("MD5 not supported", e);
+        }
+        md5.update(bytes, offset, length);
+        return toNameUuid(md5.digest());
+    }
+
+    // mirrors UUID.nameUUIDFromBytes: stamp version 3 and the IETF variant onto the 16-byte digest
+    static UUID toNameUuid(byte[] md5) {
+        md5[6] &= 0x0f;
+        md5[6] |= 0x30;
+        md5[8] &= 0x3f;
+        md5[8] |= (byte) 0x80;
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) msb = (msb << 8) | (md5[i] & 0xff);
+        for (int i = 8; i < 16; i++) lsb = (lsb << 8) | (md5[i] & 0xff);
+        return new UUID(msb, lsb);
+    }
 }
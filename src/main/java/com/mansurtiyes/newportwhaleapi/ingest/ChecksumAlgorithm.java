@@ -0,0 +1,12 @@
+package com.mansurtiyes.newportwhaleapi.ingest;
+
+/**
+ * How a report's canonical form is hashed into daily_report.checksum.
+ * Switching algorithms changes every checksum, so each stored day is rewritten once on the next ingest.
+ */
+public enum ChecksumAlgorithm {
+    /** MD5 name-based UUID (version 3); identical to UUID.nameUUIDFromBytes over the canonical JSON. */
+    MD5,
+    /** 128-bit MurmurHash3 (x64, seed 0) over the same bytes, stamped as a version 8 (custom) UUID. */
+    MURMUR3_128
+}
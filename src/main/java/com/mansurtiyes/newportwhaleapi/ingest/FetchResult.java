@@ -0,0 +1,95 @@
+package com.mansurtiyes.newportwhaleapi.ingest;
+
+import jakarta.annotation.Nullable;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Outcome of a (conditional) page fetch.
+ * A 304 carries no body; a 200 carries the raw bytes so callers decide when (and whether) to parse.
+ *
+ * @param charset charset from the Content-Type header, or null to let jsoup sniff the meta tag
+ * @param etag ETag validator to send back next time (may be null)
+ * @param lastModified Last-Modified validator to send back next time (may be null)
+ */
+public record FetchResult(URI uri,
+                          int statusCode,
+                          byte[] body,
+                          @Nullable String charset,
+                          @Nullable String etag,
+                          @Nullable String lastModified) {
+
+    public static final int NOT_MODIFIED = 304;
+
+    // <meta charset="..."> or <meta http-equiv=... content="text/html; charset=...">, looked for near the top only
+    private static final Pattern META_CHARSET = Pattern.compile("charset\\s*=\\s*[\"']?([\\w.:-]+)", Pattern.CASE_INSENSITIVE);
+    private static final int SNIFF_BYTES = 1024;
+
+    public static FetchResult notModified(URI uri, @Nullable String etag, @Nullable String lastModified) {
+        return new FetchResult(uri, NOT_MODIFIED, new byte[0], null, etag, lastModified);
+    }
+
+    public boolean isNotModified() {
+        return statusCode == NOT_MODIFIED;
+    }
+
+    /** Builds the jsoup DOM from the raw body; only valid for a modified (200) result. */
+    public Document parse() throws IOException {
+        if (isNotModified()) {
+            throw new IllegalStateException("Nothing to parse: " + uri + " was not modified");
+        }
+        return Jsoup.parse(new ByteArrayInputStream(body), charset, uri.toString());
+    }
+
+    /**
+     * Character stream over the raw body for streaming parsers. Uses the Content-Type charset when the server sent
+     * one, else a BOM or meta charset near the top of the page, else UTF-8 (same precedence as jsoup's loader).
+     */
+    public Reader reader() {
+        if (isNotModified()) {
+            throw new IllegalStateException("Nothing to parse: " + uri + " was not modified");
+        }
+        return new InputStreamReader(new ByteArrayInputStream(body), effectiveCharset());
+    }
+
+    Charset effectiveCharset() {
+        Charset declared = lookup(charset);
+        if (declared != null) return declared;
+
+        if (body.length >= 3 && (body[0] & 0xFF) == 0xEF && (body[1] & 0xFF) == 0xBB && (body[2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+        if (body.length >= 2 && (body[0] & 0xFF) == 0xFE && (body[1] & 0xFF) == 0xFF) return StandardCharsets.UTF_16BE;
+        if (body.length >= 2 && (body[0] & 0xFF) == 0xFF && (body[1] & 0xFF) == 0xFE) return StandardCharsets.UTF_16LE;
+
+        String head = new String(body, 0, Math.min(body.length, SNIFF_BYTES), StandardCharsets.ISO_8859_1);
+        Matcher m = META_CHARSET.matcher(head);
+        if (m.find()) {
+            Charset meta = lookup(m.group(1));
+            if (meta != null) return meta;
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static Charset lookup(@Nullable String name) {
+        if (name == null || name.isBlank()) return null;
+        try {
+            return Charset.forName(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.mansurtiyes.newportwhaleapi.ingest;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket per host: {@code burst} requests back to back, then {@code permitsPerSecond}.
+ * acquire() parks the calling thread until its token is due, which is cheap on a virtual thread.
+ */
+public final class HostRateLimiter {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public HostRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) throw new IllegalArgumentException("permitsPerSecond must be > 0");
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+    }
+
+    public void acquire(String host) throws InterruptedException {
+        String key = host == null ? "" : host.toLowerCase(Locale.ROOT);
+        long waitNanos = buckets.computeIfAbsent(key, h -> new Bucket()).reserve();
+        if (waitNanos > 0) TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+
+    // GCRA form of the token bucket: one timestamp per host instead of a token count + refill time
+    private final class Bucket {
+        private final long interval = (long) (1_000_000_000L / permitsPerSecond);
+        private final long tolerance = (burst - 1) * interval;
+        private long tat;           // theoretical arrival time of the next request
+        private boolean used;
+
+        /** Takes one token, possibly from the future. @return nanos the caller must wait for it */
+        synchronized long reserve() {
+            long now = System.nanoTime();
+            long start = (!used || tat - now < 0) ? now : tat;
+            used = true;
+            tat = start + interval;
+            return Math.max(0, start - tolerance - now);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.mansurtiyes.newportwhaleapi.ingest;
 
+import jakarta.annotation.Nullable;
+import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.springframework.stereotype.Component;
@@ -18,6 +20,32 @@ public class HtmlFetcher {
     );
 
     public Document fetch(URI uri) throws IOException {
+        return connect(uri).get();
+    }
+
+    /**
+     * Conditional GET: replays the validators from the previous fetch (If-None-Match / If-Modified-Since).
+     * When the server answers 304 the result carries no body and the caller can skip parsing entirely.
+     * Validators missing from a 304 response fall back to the ones we sent.
+     */
+    public FetchResult fetchIfModified(URI uri, @Nullable String etag, @Nullable String lastModified) throws IOException {
+        Connection conn = connect(uri);
+        if (etag != null) conn.header("If-None-Match", etag);
+        if (lastModified != null) conn.header("If-Modified-Since", lastModified);
+
+        Connection.Response res = conn.execute();
+        String newEtag = res.header("ETag");
+        String newLastModified = res.header("Last-Modified");
+
+        if (res.statusCode() == FetchResult.NOT_MODIFIED) {
+            return FetchResult.notModified(uri,
+                    newEtag != null ? newEtag : etag,
+                    newLastModified != null ? newLastModified : lastModified);
+        }
+        return new FetchResult(uri, res.statusCode(), res.bodyAsBytes(), res.charset(), newEtag, newLastModified);
+    }
+
+    private Connection connect(URI uri) {
         String ua = USER_AGENTS.get((int) (System.nanoTime() % USER_AGENTS.size()));
         return Jsoup.connect(uri.toString())
                 .userAgent(ua)
@@ -25,9 +53,8 @@ public class HtmlFetcher {
                 .timeout(10_000)
                 .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
                 .header("Accept-Language", "en-US,en;q=0.9")
-                .header("Cache-Control", "no-cache")
+                .header("Cache-Control", "no-cache")                   // intermediaries must revalidate; origin may still 304
                 .followRedirects(true)
-                .ignoreHttpErrors(false)                                // throw on 4xx/5xx
-                .get();
+                .ignoreHttpErrors(false);                               // throw on 4xx/5xx
     }
 }
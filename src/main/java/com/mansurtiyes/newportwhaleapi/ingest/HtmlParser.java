@@ -1,9 +1,39 @@
 package com.mansurtiyes.newportwhaleapi.ingest;
 
 import org.jsoup.nodes.Document;
+import org.jsoup.parser.Parser;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface HtmlParser {
     List<ParsedReport> parse(Document doc, String sourceUrl);
+
+    /**
+     * Streaming variant: reads the page from {@code html} and hands each report to {@code sink} as soon as its
+     * row has been read. Implementations may stop reading once the data they need has gone by.
+     * The default builds the full DOM and delegates to {@link #parse(Document, String)}.
+     */
+    default void parse(Reader html, String sourceUrl, Consumer<ParsedReport> sink) throws IOException {
+        Document doc = Parser.htmlParser().parseInput(html, sourceUrl);
+        parse(doc, sourceUrl).forEach(sink);
+    }
+
+    /**
+     * Incremental variant: only reports dated on or after {@code since} reach {@code sink} ({@code null} = all).
+     * Implementations that know their page is ordered newest first may stop reading at the first older row.
+     * The default parses everything and filters.
+     */
+    default void parse(Reader html, String sourceUrl, LocalDate since, Consumer<ParsedReport> sink) throws IOException {
+        if (since == null) {
+            parse(html, sourceUrl, sink);
+            return;
+        }
+        parse(html, sourceUrl, report -> {
+            if (!report.getDate().isBefore(since)) sink.accept(report);
+        });
+    }
 }
@@ -0,0 +1,70 @@
+package com.mansurtiyes.newportwhaleapi.ingest;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Ingest state at /actuator/health (component "ingest", also part of the readiness group):
+ * <pre>
+ *   ingesting  bootstrap ingest still running: OUT_OF_SERVICE while nothing is stored yet, else UP
+ *   ready      last run finished without failures: UP
+ *   degraded   last run failed or was partial: DEGRADED (HTTP 200; stored data is still served)
+ * </pre>
+ * Before the bootstrap has been started the indicator reports UP with state "starting".
+ */
+@Component
+public class IngestHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "Last ingest run failed or was partial");
+
+    public enum State { STARTING, INGESTING, READY, DEGRADED }
+
+    private volatile Snapshot snapshot = new Snapshot(State.STARTING, true, null, null, null);
+
+    private record Snapshot(State state, boolean hasData, Instant since, IngestResult lastResult, String lastError) {}
+
+    /** Bootstrap ingest started; {@code hasData} = whether reports are already stored to serve meanwhile. */
+    public void ingesting(boolean hasData) {
+        snapshot = new Snapshot(State.INGESTING, hasData, Instant.now(), null, null);
+    }
+
+    public void finished(IngestResult result) {
+        State state = result.isComplete() ? State.READY : State.DEGRADED;
+        snapshot = new Snapshot(state, true, Instant.now(), result, null);
+    }
+
+    public void failed(Exception error) {
+        Snapshot previous = snapshot;
+        // a failed bootstrap on an empty database stays out of service: there is still nothing to serve
+        boolean hasData = previous.state() != State.INGESTING || previous.hasData();
+        snapshot = new Snapshot(State.DEGRADED, hasData, Instant.now(), null, error.toString());
+    }
+
+    public State state() {
+        return snapshot.state();
+    }
+
+    @Override
+    public Health health() {
+        Snapshot s = snapshot;
+        Health.Builder h = switch (s.state()) {
+            case STARTING, READY -> Health.up();
+            case INGESTING -> s.hasData() ? Health.up() : Health.outOfService();
+            case DEGRADED -> s.hasData() ? Health.status(DEGRADED) : Health.outOfService();
+        };
+        h.withDetail("state", s.state().name().toLowerCase(Locale.ROOT));
+        if (s.since() != null) h.withDetail("since", s.since().toString());
+        if (s.lastResult() != null) {
+            h.withDetail("outcome", s.lastResult().outcome().name().toLowerCase(Locale.ROOT));
+            if (!s.lastResult().failedSources().isEmpty()) h.withDetail("failedSources", s.lastResult().failedSources());
+            if (!s.lastResult().failedDates().isEmpty()) h.withDetail("failedDates", s.lastResult().failedDates().size());
+        }
+        if (s.lastError() != null) h.withDetail("error", s.lastError());
+        return h.build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.mansurtiyes.newportwhaleapi.ingest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Cluster-wide ingest mutex: a PostgreSQL session-level advisory lock, held for the whole run on a dedicated
+ * connection opened through DriverManager, outside the Hikari pool. A run spends most of its time in HTTP fetches
+ * and rate-limiter waits, so a pooled connection parked under the lock would be one less for API reads.
+ * The run itself stays non-transactional and writes through the pool as before.
+ * <p>
+ * If the instance dies mid-run, its session ends and Postgres drops the lock with it, so no cleanup or lease
+ * timeout is needed.
+ */
+@Component
+public class IngestLock {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestLock.class);
+
+    /** Advisory lock key ("nwa-ingest"); no other pg_advisory_* user of this database may take it. */
+    public static final long KEY = 0x6e77_612d_696e_6773L;
+
+    private final String url;
+    private final String username;
+    private final String password;
+
+    public IngestLock(DataSourceProperties dataSource) {
+        this.url = dataSource.determineUrl();
+        this.username = dataSource.determineUsername();
+        this.password = dataSource.determinePassword();
+    }
+
+    /** Held lock; closing it unlocks and closes the lock's connection. */
+    public interface Held extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Takes the lock without waiting. Empty when another session (another instance) holds it.
+     */
+    public Optional<Held> tryAcquire() throws SQLException {
+        Connection conn = DriverManager.getConnection(url, username, password);
+        boolean locked = false;
+        try {
+            conn.setAutoCommit(true);
+            locked = call(conn, "select pg_try_advisory_lock(?)");
+        } finally {
+            if (!locked) conn.close();
+        }
+        return locked ? Optional.of(() -> release(conn)) : Optional.empty();
+    }
+
+    private void release(Connection conn) {
+        try (conn) {
+            if (!call(conn, "select pg_advisory_unlock(?)")) {
+                log.warn("Ingest lock {} was not held at release", KEY);
+            }
+        } catch (SQLException e) {
+            // closing the session releases the lock server-side anyway
+            log.error("Could not unlock ingest lock {}; closing its connection", KEY, e);
+        }
+    }
+
+    private static boolean call(Connection conn, String sql) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.mansurtiyes.newportwhaleapi.ingest;
+
+import com.mansurtiyes.newportwhaleapi.repository.ObservationDiff;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * Micrometer meters for every ingest stage, scraped at /actuator/prometheus:
+ * <pre>
+ *   ingest_fetch_seconds{source,outcome}          conditional GET latency (ok | not_modified | error)
+ *   ingest_fetch_bytes{source}                    response body size
+ *   ingest_parse_seconds{parser}                  streaming parse time per page
+ *   ingest_parse_rows{parser}                     reports parsed per page
+ *   ingest_reports_total{result}                  per day: unchanged | superseded | written | failed
+ *   ingest_write_seconds                          one write transaction (chunk or single-day retry)
+ *   ingest_observation_rows_total{op}             inserted | updated | deleted
+ *   ingest_runs_total{outcome}                    IngestResult outcome per run, or error when it threw
+ *   ingest_runs_coalesced_total                   calls that joined a run already in flight instead of starting one
+ *   ingest_data_age_seconds                       now - start of the newest stored report_date (Los Angeles)
+ *   ingest_last_success_age_seconds               now - last run that finished without failures
+ *   ingest_schedule_interval_seconds              current adaptive poll interval (AdaptiveIngestScheduler)
+ *   ingest_schedule_next_run_seconds              epoch seconds of the next planned poll
+ * </pre>
+ * Resolver label counters live in InMemorySpeciesResolver (species_resolver_labels_total).
+ */
+@Component
+public class IngestMetrics {
+
+    // report dates are Newport (Pacific) calendar days
+    private static final ZoneId REPORT_ZONE = ZoneId.of("America/Los_Angeles");
+
+    private final MeterRegistry registry;
+    private final Clock clock;
+
+    private final Counter reportsUnchanged;
+    private final Counter reportsSuperseded;
+    private final Counter reportsWritten;
+    private final Counter reportsFailed;
+    private final Timer writeTimer;
+    private final Counter obsInserted;
+    private final Counter obsUpdated;
+    private final Counter obsDeleted;
+    private final Counter runsCoalesced;
+
+    private volatile LocalDate newestReportDate;   // null until the first run has looked
+    private volatile Instant lastSuccess;
+    private volatile Duration pollInterval;        // null until the scheduler has planned a poll
+    private volatile Instant nextPoll;
+
+    @Autowired
+    public IngestMetrics(MeterRegistry registry) {
+        this(registry, Clock.systemUTC());
+    }
+
+    IngestMetrics(MeterRegistry registry, Clock clock) {
+        this.registry = registry;
+        this.clock = clock;
+
+        reportsUnchanged = reports("unchanged");
+        reportsSuperseded = reports("superseded");
+        reportsWritten = reports("written");
+        reportsFailed = reports("failed");
+        writeTimer = Timer.builder("ingest.write")
+                .description("One ingest write transaction (daily_report upsert + observation diff)")
+                .register(registry);
+        obsInserted = observationRows("inserted");
+        obsUpdated = observationRows("updated");
+        obsDeleted = observationRows("deleted");
+        runsCoalesced = Counter.builder("ingest.runs.coalesced")
+                .description("Ingest calls that joined a run already in flight")
+                .register(registry);
+
+        Gauge.builder("ingest.data.age", this, IngestMetrics::dataAgeSeconds)
+                .description("Seconds since the start of the newest stored report_date")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("ingest.last.success.age", this, IngestMetrics::lastSuccessAgeSeconds)
+                .description("Seconds since the last ingest run that finished without failures")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("ingest.schedule.interval", this, IngestMetrics::pollIntervalSeconds)
+                .description("Current adaptive poll interval")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("ingest.schedule.next.run", this, IngestMetrics::nextPollEpochSeconds)
+                .description("When the next scheduled ingest runs, as epoch seconds")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    // ---- fetch / parse (called from the per-source virtual threads) ----
+
+    Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    void fetched(Timer.Sample sample, String source, FetchResult result) {
+        sample.stop(fetchTimer(source, result.isNotModified() ? "not_modified" : "ok"));
+        if (!result.isNotModified()) {
+            DistributionSummary.builder("ingest.fetch.bytes")
+                    .description("Fetched page body size")
+                    .baseUnit("bytes")
+                    .tag("source", source)
+                    .register(registry)
+                    .record(result.body().length);
+        }
+    }
+
+    void fetchFailed(Timer.Sample sample, String source) {
+        sample.stop(fetchTimer(source, "error"));
+    }
+
+    void parsed(Timer.Sample sample, String parser, int rows) {
+        sample.stop(Timer.builder("ingest.parse")
+                .description("Streaming parse of one page")
+                .tag("parser", parser)
+                .register(registry));
+        DistributionSummary.builder("ingest.parse.rows")
+                .description("Reports parsed from one page")
+                .tag("parser", parser)
+                .register(registry)
+                .record(rows);
+    }
+
+    // ---- change detection / writes (calling thread) ----
+
+    void unchanged(int n) {
+        reportsUnchanged.increment(n);
+    }
+
+    void superseded(int n) {
+        reportsSuperseded.increment(n);
+    }
+
+    void written(int n) {
+        reportsWritten.increment(n);
+    }
+
+    void failed(int n) {
+        reportsFailed.increment(n);
+    }
+
+    Timer writeTimer() {
+        return writeTimer;
+    }
+
+    void observationRows(ObservationDiff diff) {
+        obsInserted.increment(diff.inserted());
+        obsUpdated.increment(diff.updated());
+        obsDeleted.increment(diff.deleted());
+    }
+
+    void finished(IngestResult result, LocalDate newestStored) {
+        registry.counter("ingest.runs", "outcome", result.outcome().name().toLowerCase(Locale.ROOT)).increment();
+        if (newestStored != null) newestReportDate = newestStored;
+        if (result.isComplete()) lastSuccess = clock.instant();
+    }
+
+    void runFailed() {
+        registry.counter("ingest.runs", "outcome", "error").increment();
+    }
+
+    void coalesced() {
+        runsCoalesced.increment();
+    }
+
+    // ---- scheduler ----
+
+    void scheduled(Duration interval, Instant next) {
+        pollInterval = interval;
+        nextPoll = next;
+    }
+
+    // ---- gauges ----
+
+    private double dataAgeSeconds() {
+        LocalDate newest = newestReportDate;
+        if (newest == null) return Double.NaN;
+        Instant dayStart = newest.atStartOfDay(REPORT_ZONE).toInstant();
+        return (clock.millis() - dayStart.toEpochMilli()) / 1000.0;
+    }
+
+    private double lastSuccessAgeSeconds() {
+        Instant last = lastSuccess;
+        return last == null ? Double.NaN : (clock.millis() - last.toEpochMilli()) / 1000.0;
+    }
+
+    private double pollIntervalSeconds() {
+        Duration interval = pollInterval;
+        return interval == null ? Double.NaN : interval.toMillis() / 1000.0;
+    }
+
+    private double nextPollEpochSeconds() {
+        Instant next = nextPoll;
+        return next == null ? Double.NaN : next.toEpochMilli() / 1000.0;
+    }
+
+    private Counter reports(String result) {
+        return Counter.builder("ingest.reports")
+                .description("Parsed days by what the ingest did with them")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Counter observationRows(String op) {
+        return Counter.builder("ingest.observation.rows")
+                .description("Observation rows changed by the snapshot diff")
+                .tag("op", op)
+                .register(registry);
+    }
+
+    private Timer fetchTimer(String source, String outcome) {
+        return Timer.builder("ingest.fetch")
+                .description("Conditional GET of one source page")
+                .tags("source", source, "outcome", outcome)
+                .register(registry);
+    }
+}
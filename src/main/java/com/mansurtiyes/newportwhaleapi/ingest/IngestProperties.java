@@ -0,0 +1,98 @@
+package com.mansurtiyes.newportwhaleapi.ingest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Source registry and fetch limits under {@code ingest.*}.
+ *
+ * @param sources     every page pulled by a scheduled/bootstrap ingest
+ * @param fetch       concurrency and politeness limits for those fetches
+ * @param incremental how much of each page a routine run re-checks
+ * @param schedule    when the adaptive scheduler polls
+ * @param checksum    how parsed days are hashed for change detection
+ * @param write       how changed days are written
+ */
+@ConfigurationProperties("ingest")
+public record IngestProperties(@DefaultValue List<FeedSource> sources, @DefaultValue Fetch fetch,
+                               @DefaultValue Incremental incremental, @DefaultValue Schedule schedule,
+                               @DefaultValue Checksum checksum, @DefaultValue Write write) {
+
+    /**
+     * One page to pull.
+     *
+     * @param name     label for logs
+     * @param uri      page URL; also the ingest_source key and daily_report.source_url
+     * @param parser   bean name of the {@link HtmlParser} that reads it
+     * @param priority when two sources report the same day, the higher priority wins (ties: list order)
+     */
+    public record FeedSource(String name, URI uri, @DefaultValue("whaleCountParser") String parser,
+                             @DefaultValue("0") int priority) {
+    }
+
+    /**
+     * @param maxConcurrent          fetches in flight at once, across all hosts
+     * @param perHostPerSecond       steady request rate allowed against one host
+     * @param perHostBurst           requests one host may get back to back before the rate applies
+     */
+    public record Fetch(@DefaultValue("4") int maxConcurrent, @DefaultValue("1.0") double perHostPerSecond,
+                        @DefaultValue("2") int perHostBurst) {
+    }
+
+    /**
+     * @param lookbackDays       rows dated up to this many days before a source's watermark are re-checked on every
+     *                           run (late corrections); older rows are skipped. Negative disables incremental runs:
+     *                           every parse reads every row, but a 304 or an unchanged fingerprint still skips it
+     * @param fullReconcileEvery every row of a source is re-checked (validators and fingerprint ignored) at least
+     *                           this often, and whenever the source has never been fully reconciled
+     */
+    public record Incremental(@DefaultValue("7") int lookbackDays, @DefaultValue("7d") Duration fullReconcileEvery) {
+    }
+
+    /**
+     * Adaptive polling (see {@link AdaptivePollPlan}).
+     *
+     * @param enabled        false leaves only the bootstrap ingest at startup
+     * @param bootstrap      run one ingest right after startup, in the background (see {@link IngestHealthIndicator})
+     * @param zone           zone of the active window
+     * @param activeFrom     start of the hours tours report in; polls outside the window wait for its next start
+     * @param activeUntil    end of that window (exclusive)
+     * @param minInterval    poll interval right after a change, and at the start of every window
+     * @param maxInterval    cap for the interval while nothing changes
+     * @param backoff        interval multiplier after each poll that found nothing new
+     * @param retryBase      first retry delay after a failed run, doubled per consecutive failure
+     * @param retryMax       cap for the retry delay
+     * @param jitter         share (0..1) of a retry delay that is randomized away, and of the interval randomly added
+     *                       after a run left to another instance, so instances do not poll in step
+     */
+    public record Schedule(@DefaultValue("true") boolean enabled,
+                           @DefaultValue("true") boolean bootstrap,
+                           @DefaultValue("America/Los_Angeles") ZoneId zone,
+                           @DefaultValue("08:00") LocalTime activeFrom,
+                           @DefaultValue("20:00") LocalTime activeUntil,
+                           @DefaultValue("15m") Duration minInterval,
+                           @DefaultValue("3h") Duration maxInterval,
+                           @DefaultValue("2.0") double backoff,
+                           @DefaultValue("1m") Duration retryBase,
+                           @DefaultValue("30m") Duration retryMax,
+                           @DefaultValue("0.5") double jitter) {
+    }
+
+    /**
+     * @param algorithm hash behind daily_report.checksum; switching it rewrites every stored day once
+     */
+    public record Checksum(@DefaultValue("md5") ChecksumAlgorithm algorithm) {
+    }
+
+    /**
+     * @param chunkSize changed days per write transaction; a failed chunk is retried one day per transaction
+     */
+    public record Write(@DefaultValue("200") int chunkSize) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.mansurtiyes.newportwhaleapi.ingest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * What one ingest run did.
+ *
+ * @param parsed        reports parsed off the pages (0 when every page was skipped)
+ * @param changed       reports whose checksum differed from the stored one (after merging sources by date)
+ * @param written       changed reports committed
+ * @param failedDates   changed reports that could not be written even on their own; retried on the next run
+ * @param failedSources names of sources whose fetch or parse failed
+ */
+public record IngestResult(Outcome outcome, int parsed, int changed, int written, List<LocalDate> failedDates,
+                           List<String> failedSources) {
+
+    public enum Outcome {
+        NOT_MODIFIED,   // 304 from every server
+        UNCHANGED,      // 200, but the Recent Counts region fingerprints the same as last time (no source parsed)
+        INGESTED,       // parsed and every changed day written
+        PARTIAL,        // some changed days failed to write, or some sources failed to fetch
+        LOCKED          // another instance holds the cluster ingest lock and is doing this run (see IngestLock)
+    }
+
+    public boolean isComplete() {
+        return failedDates.isEmpty() && failedSources.isEmpty();
+    }
+}
@@ -1,132 +1,482 @@
 package com.mansurtiyes.newportwhaleapi.ingest;
 
 import com.mansurtiyes.newportwhaleapi.ingest.resolve.InMemorySpeciesResolver;
-import com.mansurtiyes.newportwhaleapi.model.DailyReport;
-import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
+import com.mansurtiyes.newportwhaleapi.model.IngestSource;
+import com.mansurtiyes.newportwhaleapi.repository.ChecksumIndex;
 import com.mansurtiyes.newportwhaleapi.repository.DailyReportRepository;
+import com.mansurtiyes.newportwhaleapi.repository.IngestSourceRepository;
+import com.mansurtiyes.newportwhaleapi.repository.ObservationDiff;
 import com.mansurtiyes.newportwhaleapi.repository.ObservationRepository;
-import jakarta.transaction.Transactional;
-import org.jsoup.nodes.Document;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.Reader;
 import java.net.URI;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 @Service
-public class IngestService implements CommandLineRunner {
+public class IngestService {
 
     private static final Logger log = LoggerFactory.getLogger(IngestService.class);
 
-    // Default feed URL (can externalize to config later)
+    // Used when ingest.sources is empty, and by ingest(URI)
     private static final URI FEED_URI = URI.create("https://newportwhales.com/whalecount.html");
+    private static final String DEFAULT_PARSER = "whaleCountParser";
 
     private final DailyReportRepository dailyReportRepo;
     private final ObservationRepository observationRepo;
+    private final IngestSourceRepository sourceRepo;
     private final HtmlFetcher fetcher;
-    private final WhaleCountParser parser;
+    private final Map<String, HtmlParser> parsers;   // bean name -> parser
     private final InMemorySpeciesResolver speciesResolver;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+    private final List<IngestProperties.FeedSource> sources;
+    private final Semaphore fetchSlots;               // global cap on fetches in flight
+    private final HostRateLimiter hostLimiter;
+    private final IngestProperties.Incremental incremental;
+    private final IngestMetrics metrics;
+    private final IngestLock clusterLock;
+    private final ReentrantLock localRun = new ReentrantLock(true);
+    private final ConcurrentMap<RunKey, CompletableFuture<IngestResult>> inFlight = new ConcurrentHashMap<>();
 
-    public IngestService(DailyReportRepository dailyReportRepo, ObservationRepository observationRepo, HtmlFetcher fetcher, WhaleCountParser parser, InMemorySpeciesResolver speciesResolver) {
+    public IngestService(DailyReportRepository dailyReportRepo, ObservationRepository observationRepo, IngestSourceRepository sourceRepo, HtmlFetcher fetcher, Map<String, HtmlParser> parsers, InMemorySpeciesResolver speciesResolver,
+                         TransactionTemplate tx, IngestProperties props, IngestMetrics metrics, IngestLock clusterLock) {
         this.dailyReportRepo = dailyReportRepo;
         this.observationRepo = observationRepo;
+        this.sourceRepo = sourceRepo;
         this.fetcher = fetcher;
-        this.parser = parser;
+        this.parsers = Map.copyOf(parsers);
         this.speciesResolver = speciesResolver;
+        this.tx = tx;
+        this.chunkSize = Math.max(1, props.write().chunkSize());
+        this.sources = props.sources().isEmpty()
+                ? List.of(new IngestProperties.FeedSource("whalecount", FEED_URI, DEFAULT_PARSER, 0))
+                : List.copyOf(props.sources());
+        for (IngestProperties.FeedSource src : sources) {
+            if (!parsers.containsKey(src.parser())) {
+                throw new IllegalStateException("ingest source " + src.name() + ": no HtmlParser bean named " + src.parser());
+            }
+        }
+        this.fetchSlots = new Semaphore(Math.max(1, props.fetch().maxConcurrent()), true);
+        this.hostLimiter = new HostRateLimiter(props.fetch().perHostPerSecond(), props.fetch().perHostBurst());
+        this.incremental = props.incremental();
+        this.metrics = metrics;
+        this.clusterLock = clusterLock;
     }
 
     /**
-     * Runs once when the application starts.
+     * Convenience entry point for runners/schedulers: every source in {@code ingest.sources}.
      */
-    @Override
-    public void run(String... args) {
-        try {
-            log.info("Bootstrap ingest starting…");
-            ingest(); // uses default FEED_URI
-            log.info("Bootstrap ingest finished.");
-        } catch (Exception e) {
-            // swallow errors so app still boots
-            log.error("Bootstrap ingest failed", e);
-        }
+    public IngestResult ingest() throws Exception {
+        return ingest(sources);
     }
 
     /**
-     * Scheduled to run every day at 18:00 in Los Angeles time..
+     * Every configured source, checking every row regardless of watermarks, validators or fingerprints.
      */
-    @Scheduled(cron = "0 0 18 * * *", zone = "America/Los_Angeles")
-    public void scheduledIngest() {
-        try {
-            log.info("Scheduled ingest (America/Los_Angeles 18:00) starting…");
-            ingest(); // uses default FEED_URI
-            log.info("Scheduled ingest finished.");
-        } catch (Exception e) {
-            // swallow errors so scheduler keeps running
-            log.error("Scheduled ingest failed", e);
-        }
+    public IngestResult reconcile() throws Exception {
+        return ingest(sources, true);
     }
 
     /**
-     * Convenience entry point for runners/schedulers.
+     * Ad-hoc ingestion of a single page with the default (whalecount) parser.
      */
-    @Transactional
-    public void ingest() throws Exception {
-        ingest(FEED_URI);
+    public IngestResult ingest(URI uri) throws Exception {
+        return ingest(List.of(new IngestProperties.FeedSource(uri.toString(), uri, DEFAULT_PARSER, 0)));
     }
 
     /**
-     * Reusable ingestion against any given URI. Parses the page and upserts reports+observations
+     * Fetches and parses every source concurrently, merges the reports by date and upserts reports+observations
      * only when the checksum for that date has changed (or is new).
+     * <p>
+     * Each fetch runs on its own virtual thread, behind a per-host token bucket and then a global cap
+     * ({@code ingest.fetch.max-concurrent}), so a run takes about as long as its slowest source. Fetch and parse hold no DB
+     * connection; per-source state is read before and written after, on the calling thread.
+     * <p>
+     * Every fetch is conditional on the validators stored for its source: a 304 skips parsing,
+     * and so does a 200 whose Recent Counts region fingerprints the same as the last processed page.
+     * Both shortcuts are off when a full reconcile is due: on {@link #reconcile()}, when the species catalog changed
+     * since that page was processed (the same rows may now resolve differently), and when the last full pass is
+     * older than {@code ingest.incremental.full-reconcile-every}.
+     * <p>
+     * Otherwise a source with a watermark (the newest day it has been reconciled up to) is parsed incrementally:
+     * only rows dated within {@code lookback-days} of it are read, and the parser stops at the first older row.
+     * With incremental runs disabled every parse reads every row, but the validators and fingerprint still apply.
+     * <p>
+     * When two sources report the same day, the higher {@code priority} wins, also against a day stored earlier
+     * by a higher-priority source that was skipped this run.
+     * <p>
+     * Not transactional: changed days are written in chunks of {@code ingest.write.chunk-size}, each in its own
+     * short transaction. A chunk that fails is retried one day per transaction, so a bad row costs only its own day.
+     * A source's validators and fingerprint are stored only when all of its days were written, so failed days are
+     * picked up again by the next run; a source that parsed no rows at all still has them stored.
+     * <p>
+     * Every stage is metered through {@link IngestMetrics}.
+     * <p>
+     * Safe to call from several threads and instances. A call identical to one already in flight in this JVM
+     * waits for that run and returns its result; other calls queue behind it. Across instances only the holder
+     * of {@link IngestLock} fetches and writes: the others return {@link IngestResult.Outcome#LOCKED} at once and
+     * see the holder's work through the DB, including the validators their next conditional fetch will send.
      */
-    @Transactional
-    public void ingest(URI uri) throws Exception {
-        // Ensure aliases are present (idempotent)
-        speciesResolver.reload();  // ⬅ critical line
+    public IngestResult ingest(List<IngestProperties.FeedSource> feeds) throws Exception {
+        return ingest(feeds, false);
+    }
+
+    private IngestResult ingest(List<IngestProperties.FeedSource> feeds, boolean forceFull) throws Exception {
+        // the same run already in flight in this JVM: wait for it and share its result
+        RunKey key = new RunKey(List.copyOf(feeds), forceFull);
+        CompletableFuture<IngestResult> mine = new CompletableFuture<>();
+        CompletableFuture<IngestResult> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            metrics.coalesced();
+            log.info("Ingest: joining the run already in flight");
+            return await(running);
+        }
+        try {
+            IngestResult result = exclusive(feeds, forceFull);
+            mine.complete(result);
+            return result;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // One run at a time in this JVM (different runs queue up), and in the whole cluster through IngestLock
+    private IngestResult exclusive(List<IngestProperties.FeedSource> feeds, boolean forceFull) throws Exception {
+        localRun.lockInterruptibly();
+        try {
+            IngestResult result;
+            try {
+                result = lockedRun(feeds, forceFull);
+            } catch (Exception e) {
+                metrics.runFailed();
+                throw e;
+            }
+            // read back from the DB, so an instance that left the run to another still reports what it stored
+            metrics.finished(result, dailyReportRepo.findNewestReportDate().orElse(null));
+            return result;
+        } finally {
+            localRun.unlock();
+        }
+    }
+
+    private IngestResult lockedRun(List<IngestProperties.FeedSource> feeds, boolean forceFull) throws Exception {
+        Optional<IngestLock.Held> held = clusterLock.tryAcquire();
+        if (held.isEmpty()) {
+            // another instance is scraping; its days, validators and watermarks land in the shared DB
+            log.info("Ingest: another instance holds the ingest lock — leaving this run to it");
+            return new IngestResult(IngestResult.Outcome.LOCKED, 0, 0, 0, List.of(), List.of());
+        }
+        try {
+            return run(feeds, forceFull);
+        } finally {
+            held.get().close();
+        }
+    }
+
+    private static IngestResult await(CompletableFuture<IngestResult> run) throws Exception {
+        try {
+            return run.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+
+    private IngestResult run(List<IngestProperties.FeedSource> feeds, boolean forceFull) throws Exception {
+        final long startNanos = System.nanoTime();
+
+        // 0) Alias table up to date (one-row version poll; rebuilt only if species changed) + per-source crawl state
+        long catalogVersion = speciesResolver.reloadIfChanged();
+        Map<String, IngestSource> states = new HashMap<>();
+        sourceRepo.findAllById(feeds.stream().map(f -> f.uri().toString()).toList())
+                .forEach(st -> states.put(st.getSourceUrl(), st));
+
+        // 1) Fetch + parse all sources concurrently, each from its watermark's lookback window or in full
+        OffsetDateTime runStart = OffsetDateTime.now();
+        List<SourceRun> runs = new ArrayList<>(feeds.size());
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<SourceRun>> futures = new ArrayList<>(feeds.size());
+            for (IngestProperties.FeedSource feed : feeds) {
+                IngestSource state = states.getOrDefault(feed.uri().toString(), new IngestSource(feed.uri().toString()));
+                boolean revalidate = forceFull || fullReconcileDue(state, catalogVersion, runStart);
+                LocalDate since = revalidate ? null : incrementalSince(state);
+                futures.add(pool.submit(() -> fetchAndParse(feed, state, revalidate, since)));
+            }
+            for (int i = 0; i < feeds.size(); i++) {
+                try {
+                    runs.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    log.error("Ingest: source {} ({}) failed", feeds.get(i).name(), feeds.get(i).uri(), e.getCause());
+                    runs.add(SourceRun.failed(feeds.get(i), e.getCause()));
+                }
+            }
+        }
+
+        List<String> failedSources = new ArrayList<>();
+        List<SourceRun> parsedRuns = new ArrayList<>();
+        for (SourceRun run : runs) {
+            switch (run.outcome()) {
+                case FAILED -> failedSources.add(run.feed().name());
+                case UNCHANGED -> {
+                    if (!Objects.equals(run.fetched().etag(), run.state().getEtag())
+                            || !Objects.equals(run.fetched().lastModified(), run.state().getLastModified())) {
+                        // keep validators current so the next poll can be answered with a 304
+                        run.state().setEtag(run.fetched().etag());
+                        run.state().setLastModified(run.fetched().lastModified());
+                        sourceRepo.save(run.state());
+                    }
+                }
+                case PARSED -> parsedRuns.add(run);
+                case NOT_MODIFIED -> { }
+            }
+        }
+        if (failedSources.size() == runs.size()) {
+            // nothing fetched at all: surface the cause like a single-source run always did
+            Exception first = runs.get(0).error() instanceof Exception e ? e : new IllegalStateException(runs.get(0).error());
+            for (int i = 1; i < runs.size(); i++) first.addSuppressed(runs.get(i).error());
+            throw first;
+        }
 
-        // 1) Fetch & parse
-        Document doc = fetcher.fetch(uri);
-        List<ParsedReport> parsed = parser.parse(doc, uri.toString());
-        if (parsed.isEmpty()) {
-            log.info("Ingest: no parsed reports from {}", uri);
-            return;
+        // 2) Merge by date: highest priority first, list order breaks ties (stable sort)
+        parsedRuns.sort(Comparator.comparingInt((SourceRun r) -> r.feed().priority()).reversed());
+        Map<LocalDate, ParsedReport> merged = new LinkedHashMap<>();
+        int parsedCount = 0;
+        for (SourceRun run : parsedRuns) {
+            parsedCount += run.reports().size();
+            for (ParsedReport pr : run.reports()) merged.putIfAbsent(pr.getDate(), pr);
+        }
+        if (merged.isEmpty()) {
+            if (!parsedRuns.isEmpty()) log.info("Ingest: no parsed reports from {} source(s)", parsedRuns.size());
+            remember(parsedRuns, Set.of(), catalogVersion, runStart);
+            return new IngestResult(skippedOutcome(runs, failedSources), 0, 0, 0, List.of(), List.copyOf(failedSources));
         }
 
-        // 2) For each parsed daily report: compute checksum and conditionally write
-        for (ParsedReport pr : parsed) {
-            UUID newChecksum = CheckSumUtil.checksumFromCanonical(pr.getCanonical());
+        // 3) One range query for every stored checksum in the merged window, then decide per day in memory
+        LocalDate first = null;
+        LocalDate last = null;
+        for (LocalDate d : merged.keySet()) {
+            if (first == null || d.isBefore(first)) first = d;
+            if (last == null || d.isAfter(last)) last = d;
+        }
+        ChecksumIndex existing = dailyReportRepo.findChecksumsBetween(first, last);
+        Map<String, Integer> priorityByUrl = new HashMap<>();
+        for (IngestProperties.FeedSource f : sources) priorityByUrl.put(f.uri().toString(), f.priority());
+        for (IngestProperties.FeedSource f : feeds) priorityByUrl.put(f.uri().toString(), f.priority());
+        // which source owns each stored day; only matters when several sources can claim it
+        Map<LocalDate, String> owners = priorityByUrl.size() > 1 ? dailyReportRepo.findSourceUrlsBetween(first, last) : Map.of();
 
-            Optional<UUID> existingOpt = dailyReportRepo.findCheckSumByDate(pr.getDate());
-            if (existingOpt.isPresent() && existingOpt.get().equals(newChecksum)) {
+        List<ParsedReport> changed = new ArrayList<>();
+        int unchanged = 0;
+        int superseded = 0;
+        for (ParsedReport pr : merged.values()) {
+            if (existing.matches(pr.getDate(), pr.getChecksum())) {
                 // No change for this date — skip any writes
                 log.debug("Ingest: unchanged report for date {} — skipping", pr.getDate());
+                unchanged++;
+                continue;
+            }
+            Integer ownerPriority = priorityByUrl.get(owners.get(pr.getDate()));
+            if (ownerPriority != null && ownerPriority > priorityByUrl.get(pr.getSourceUrl())) {
+                log.debug("Ingest: {} is owned by higher-priority {} — skipping", pr.getDate(), owners.get(pr.getDate()));
+                superseded++;
                 continue;
             }
+            changed.add(pr); // either new date or changed content
+        }
+        metrics.unchanged(unchanged);
+        metrics.superseded(superseded);
+
+        // 4) Write changed days chunk by chunk, each chunk in its own transaction
+        OffsetDateTime fetchedAt = OffsetDateTime.now();
+        List<LocalDate> failed = new ArrayList<>();
+        ObservationDiff obsDiff = ObservationDiff.NONE;
+        for (int from = 0; from < changed.size(); from += chunkSize) {
+            List<ParsedReport> chunk = changed.subList(from, Math.min(from + chunkSize, changed.size()));
+            try {
+                obsDiff = obsDiff.plus(writeChunk(chunk, fetchedAt));
+            } catch (RuntimeException chunkError) {
+                log.warn("Ingest: chunk {}..{} failed ({}), retrying day by day",
+                        chunk.get(0).getDate(), chunk.get(chunk.size() - 1).getDate(), chunkError.toString());
+                for (ParsedReport pr : chunk) {
+                    try {
+                        obsDiff = obsDiff.plus(writeChunk(List.of(pr), fetchedAt));
+                    } catch (RuntimeException rowError) {
+                        log.error("Ingest: report for {} from {} not written", pr.getDate(), pr.getSourceUrl(), rowError);
+                        failed.add(pr.getDate());
+                    }
+                }
+            }
+        }
+        int written = changed.size() - failed.size();
+        metrics.written(written);
+        metrics.failed(failed.size());
+        metrics.observationRows(obsDiff);
+        log.debug("Ingest: observation rows inserted={} updated={} deleted={}",
+                obsDiff.inserted(), obsDiff.updated(), obsDiff.deleted());
+        log.info("Ingest: processed {} daily reports from {} source(s) ({} new or changed, {} failed) in {} ms",
+                parsedCount, parsedRuns.size(), changed.size(), failed.size(), elapsedMillis(startNanos));
+
+        // 5) Remember validators + fingerprint + watermark per source
+        remember(parsedRuns, new HashSet<>(failed), catalogVersion, runStart);
 
-            // Either new date or changed content — (up)insert DailyReport first (FK parent)
-            DailyReport dr = new DailyReport();
-            dr.setReportDate(pr.getDate());
-            dr.setTours(pr.getTours());
-            dr.setStatus(pr.getStatus());
-            dr.setFetchedAt(OffsetDateTime.now());
-            dr.setSourceUrl(pr.getSourceUrl());
-            dr.setChecksum(newChecksum);
-
-            dailyReportRepo.insert(dr); // save parent row (required for FK)
-
-            // Replace observations snapshot for that date
-            if (pr.getStatus() == ReportStatus.bad_weather) {
-                observationRepo.replaceAllForDate(pr.getDate(), List.of()); // keep table consistent
-            } else {
-                observationRepo.replaceAllForDate(pr.getDate(), pr.getObservations());
+        IngestResult.Outcome outcome = failed.isEmpty() && failedSources.isEmpty()
+                ? IngestResult.Outcome.INGESTED : IngestResult.Outcome.PARTIAL;
+        return new IngestResult(outcome, parsedCount, changed.size(), written, List.copyOf(failed), List.copyOf(failedSources));
+    }
+
+    /**
+     * Stores validators, fingerprint and watermark for every parsed source none of whose days failed, so a source
+     * with a failed day is re-parsed next time. Also when it parsed no rows (empty table, or nothing in the lookback
+     * window): its new validators still earn the next poll a 304, and a full pass over it still counts as one.
+     */
+    private void remember(List<SourceRun> parsedRuns, Set<LocalDate> failed, long catalogVersion, OffsetDateTime runStart) {
+        for (SourceRun run : parsedRuns) {
+            if (run.reports().stream().anyMatch(pr -> failed.contains(pr.getDate()))) continue;
+            IngestSource state = run.state();
+            state.setEtag(run.fetched().etag());
+            state.setLastModified(run.fetched().lastModified());
+            state.setPageFingerprint(run.fingerprint());
+            state.setSpeciesCatalogVersion(catalogVersion);
+            state.setFetchedAt(OffsetDateTime.now());
+            for (ParsedReport pr : run.reports()) {
+                if (state.getWatermark() == null || pr.getDate().isAfter(state.getWatermark())) state.setWatermark(pr.getDate());
             }
+            if (run.since() == null) state.setLastFullReconcileAt(runStart);
+            sourceRepo.save(state);
+        }
+    }
+
+    /**
+     * Whether this source needs a full reconcile that ignores its validators and fingerprint: never fully
+     * reconciled, species catalog changed since, or the last full pass is older than {@code full-reconcile-every}.
+     */
+    private boolean fullReconcileDue(IngestSource state, long catalogVersion, OffsetDateTime now) {
+        if (state.getLastFullReconcileAt() == null) return true;
+        if (!Objects.equals(state.getSpeciesCatalogVersion(), catalogVersion)) return true;
+        return state.getLastFullReconcileAt().plus(incremental.fullReconcileEvery()).isBefore(now);
+    }
+
+    /**
+     * First day a routine run needs to look at for this source, or {@code null} when every row must be checked:
+     * no watermark yet, or incremental runs disabled.
+     */
+    private LocalDate incrementalSince(IngestSource state) {
+        if (incremental.lookbackDays() < 0 || state.getWatermark() == null) return null;
+        return state.getWatermark().minusDays(incremental.lookbackDays());
+    }
+
+    // One source, on its own virtual thread: conditional fetch, fingerprint check, streaming parse. No DB access.
+    // revalidate: fetched and parsed whatever the stored validators/fingerprint say. since == null: every row is read.
+    private SourceRun fetchAndParse(IngestProperties.FeedSource feed, IngestSource state, boolean revalidate,
+                                    LocalDate since) throws Exception {
+        final long startNanos = System.nanoTime();
+        URI uri = feed.uri();
+
+        // a) Conditional fetch using the validators remembered from the last successful run. The host's token
+        //    first: a source waiting out its host's rate must not sit on a global slot other hosts could use
+        FetchResult fetched;
+        hostLimiter.acquire(uri.getHost());
+        fetchSlots.acquire();
+        try {
+            Timer.Sample fetchSample = metrics.start();   // after the queues: latency of the GET itself
+            try {
+                fetched = revalidate
+                        ? fetcher.fetchIfModified(uri, null, null)
+                        : fetcher.fetchIfModified(uri, state.getEtag(), state.getLastModified());
+            } catch (Exception e) {
+                metrics.fetchFailed(fetchSample, feed.name());
+                throw e;
+            }
+            metrics.fetched(fetchSample, feed.name(), fetched);
+        } finally {
+            fetchSlots.release();
+        }
+        if (fetched.isNotModified()) {
+            log.info("Ingest: {} not modified (304) — skipped in {} ms", uri, elapsedMillis(startNanos));
+            return new SourceRun(feed, state, SourceRun.Outcome.NOT_MODIFIED, fetched, null, since, List.of(), null);
+        }
+
+        // b) Same table bytes as last time (server ignored or lacks validators) — skip before any parsing
+        UUID fingerprint = PageFingerprint.of(fetched.body());
+        if (!revalidate && fingerprint.equals(state.getPageFingerprint())) {
+            log.info("Ingest: {} unchanged (page fingerprint {}) — skipped in {} ms",
+                    uri, fingerprint, elapsedMillis(startNanos));
+            return new SourceRun(feed, state, SourceRun.Outcome.UNCHANGED, fetched, fingerprint, since, List.of(), null);
+        }
+
+        // c) Parse, streaming rows straight off the body (no full DOM), stopping below the lookback window
+        List<ParsedReport> parsed = new ArrayList<>();
+        Timer.Sample parseSample = metrics.start();
+        try (Reader html = fetched.reader()) {
+            parsers.get(feed.parser()).parse(html, uri.toString(), since, parsed::add);
+        }
+        metrics.parsed(parseSample, feed.parser(), parsed.size());
+        log.debug("Ingest: {} parsed {} reports ({}) in {} ms", uri, parsed.size(),
+                since == null ? "full" : "since " + since, elapsedMillis(startNanos));
+        return new SourceRun(feed, state, SourceRun.Outcome.PARSED, fetched, fingerprint, since, parsed, null);
+    }
+
+    private static IngestResult.Outcome skippedOutcome(List<SourceRun> runs, List<String> failedSources) {
+        if (!failedSources.isEmpty()) return IngestResult.Outcome.PARTIAL;
+        boolean anyFetched = runs.stream().anyMatch(r -> r.outcome() != SourceRun.Outcome.NOT_MODIFIED);
+        boolean anyParsed = runs.stream().anyMatch(r -> r.outcome() == SourceRun.Outcome.PARSED);
+        if (anyParsed) return IngestResult.Outcome.INGESTED;
+        return anyFetched ? IngestResult.Outcome.UNCHANGED : IngestResult.Outcome.NOT_MODIFIED;
+    }
+
+    // Day rows first (FK parent for observations), then the diffed observation snapshots, in one short transaction
+    private ObservationDiff writeChunk(List<ParsedReport> chunk, OffsetDateTime fetchedAt) {
+        return metrics.writeTimer().record(() -> tx.execute(status -> {
+            dailyReportRepo.upsertAll(chunk, fetchedAt);
+            return observationRepo.replaceAll(chunk);
+        }));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private record RunKey(List<IngestProperties.FeedSource> feeds, boolean forceFull) {}
+
+    /** What fetch + parse produced for one source; state is only written back on the calling thread. */
+    private record SourceRun(IngestProperties.FeedSource feed, IngestSource state, Outcome outcome,
+                             FetchResult fetched, UUID fingerprint, LocalDate since, List<ParsedReport> reports,
+                             Throwable error) {
+
+        enum Outcome { NOT_MODIFIED, UNCHANGED, PARSED, FAILED }
 
-            log.info("Ingest: processed {} daily reports from {}", parsed.size(), uri);
+        static SourceRun failed(IngestProperties.FeedSource feed, Throwable error) {
+            return new SourceRun(feed, null, Outcome.FAILED, null, null, null, List.of(), error);
         }
     }
 }
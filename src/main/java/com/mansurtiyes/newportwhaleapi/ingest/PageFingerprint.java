@@ -0,0 +1,56 @@
+package com.mansurtiyes.newportwhaleapi.ingest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Page-level change detection on the raw response bytes, before any DOM is built.
+ * Only the "Recent Counts" table region is hashed, so edits to nav, banners or
+ * scripts elsewhere on the page don't force a reparse. When the region can't be
+ * located the whole body is hashed instead (never skip on a page we don't understand).
+ */
+public final class PageFingerprint {
+
+    private static final byte[] MARKER = ascii("Recent Counts");
+    private static final byte[] TABLE_OPEN = ascii("<table");
+    private static final byte[] TABLE_CLOSE = ascii("</table");
+
+    private PageFingerprint() {
+        // utility class, no instances
+    }
+
+    public static UUID of(byte[] body) {
+        int marker = indexOfIgnoreCase(body, MARKER, 0);
+        if (marker >= 0) {
+            int open = indexOfIgnoreCase(body, TABLE_OPEN, marker + MARKER.length);
+            int close = open >= 0 ? indexOfIgnoreCase(body, TABLE_CLOSE, open) : -1;
+            if (close >= 0) {
+                return CheckSumUtil.checksumFromBytes(body, marker, close + TABLE_CLOSE.length - marker);
+            }
+        }
+        return CheckSumUtil.checksumFromBytes(body, 0, body.length);
+    }
+
+    // The markers are plain ASCII, which has the same bytes in UTF-8 and every ISO-8859 charset,
+    // so searching the undecoded body is safe.
+    static int indexOfIgnoreCase(byte[] haystack, byte[] needle, int from) {
+        int last = haystack.length - needle.length;
+        outer:
+        for (int i = Math.max(from, 0); i <= last; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (lower(haystack[i + j]) != needle[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static byte lower(byte b) {
+        return (b >= 'A' && b <= 'Z') ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static byte[] ascii(String s) {
+        return s.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+    }
+}
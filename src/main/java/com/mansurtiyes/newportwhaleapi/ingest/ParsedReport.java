@@ -1,7 +1,5 @@
 package com.mansurtiyes.newportwhaleapi.ingest;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
 
 import java.time.LocalDate;
@@ -13,18 +11,24 @@ public class ParsedReport {
     private final ReportStatus status;
     private final List<ParsedObservation> observations;
     private final String sourceUrl;
-    private final String canonical; // stable string used for checkum
+    private final UUID checksum;    // hash of the canonical form; what daily_report.checksum stores
 
     public ParsedReport(LocalDate date, int tours, ReportStatus status,
                         List<ParsedObservation> observations, String sourceUrl) {
+        this(date, tours, status, observations, sourceUrl, ChecksumAlgorithm.MD5);
+    }
+
+    public ParsedReport(LocalDate date, int tours, ReportStatus status,
+                        List<ParsedObservation> observations, String sourceUrl, ChecksumAlgorithm algorithm) {
         this.date = date;
         this.tours = tours;
         this.status = status;
         this.observations = new ArrayList<>(observations);
-        // Canonicalize: sort obs by speciesId, then JSON-encode stable fields
+        // Canonicalize: sort obs by speciesId, then hash the stable fields as JSON without materializing it
         this.observations.sort(Comparator.comparing(ParsedObservation::speciesId));
         this.sourceUrl = sourceUrl;
-        this.canonical = buildCanonical();
+        this.checksum = CanonicalHasher.checksum(date, tours, status, this.observations,
+                algorithm != null ? algorithm : ChecksumAlgorithm.MD5);
     }
 
     public LocalDate getDate() {
@@ -47,29 +51,12 @@ public class ParsedReport {
         return sourceUrl;
     }
 
+    /** The canonical JSON the checksum is computed over; built on demand, ingest never needs it. */
     public String getCanonical() {
-        return canonical;
+        return CanonicalHasher.canonical(date, tours, status, observations);
     }
 
-    private String buildCanonical() {
-        // Keep stable ordering, no whitespace quirks.
-        Map<String,Object> map = new LinkedHashMap<>();
-        map.put("date", date.toString());
-        map.put("tours", tours);
-        map.put("status", status.name().toLowerCase());
-        List<Map<String,Object>> obs = new ArrayList<>();
-        for (ParsedObservation o : observations) {
-            Map<String,Object> m = new LinkedHashMap<>();
-            m.put("speciesId", o.speciesId());
-            m.put("count", o.individuals());
-            obs.add(m);
-        }
-        map.put("observations", obs);
-        try {
-            return new ObjectMapper().writeValueAsString(map);
-        } catch (JsonProcessingException e) {
-            // Fallback, but this should basically never happen.
-            return date + "|" + tours + "|" + status + "|" + obs.toString();
-        }
+    public UUID getChecksum() {
+        return checksum;
     }
 }
@@ -5,34 +5,55 @@ import com.mansurtiyes.newportwhaleapi.ingest.resolve.TextNormalizer;
 import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
 import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Consumer;
 
 @Component
 public class WhaleCountParser implements HtmlParser {
 
     private final InMemorySpeciesResolver speciesResolver;
+    private final ChecksumAlgorithm checksumAlgorithm;
 
     private static final DateTimeFormatter M_D_YYYY =
             DateTimeFormatter.ofPattern("M/d/yyyy");
-    // Split on commas that are followed by a digit (item separators), so we DON'T split "5,130"
-    private static final Pattern ITEM_SPLIT = Pattern.compile("(?<!\\d)\\s*,\\s*(?=\\d)");
-
-    // One item looks like: "<number with optional commas><space><species label>"
-    // e.g., "4 fin whales", "5,130 common dolphin"
-    private static final Pattern OBS_PATTERN = Pattern.compile("^([\\d,]+)\\s+(.+)$");
+    private static final Evaluator RECENT_COUNTS_BY_HEADER =
+            QueryParser.parse("h3:containsOwn(Recent Counts) + table.data-table");
+    private static final Evaluator RECENT_COUNTS_BY_THS = QueryParser.parse(
+            "table.data-table" +
+                    ":has(th:matchesOwn((?i)^\\s*DATE\\s*$))" +
+                    ":has(th:matchesOwn((?i)^\\s*TOURS\\s*$))" +
+                    ":has(th:matchesOwn((?i)MAMMALS\\s+VIEWED))");
+    // compiled once: Element.select(String) re-parses its query on every call
+    private static final Evaluator DATA_ROWS = QueryParser.parse("tbody > tr:has(td)");
+    private static final Evaluator TD = QueryParser.parse("td");
 
     public WhaleCountParser(InMemorySpeciesResolver speciesResolver) {
+        this(speciesResolver, ChecksumAlgorithm.MD5);
+    }
+
+    @Autowired
+    public WhaleCountParser(InMemorySpeciesResolver speciesResolver, IngestProperties props) {
+        this(speciesResolver, props.checksum().algorithm());
+    }
+
+    public WhaleCountParser(InMemorySpeciesResolver speciesResolver, ChecksumAlgorithm checksumAlgorithm) {
         this.speciesResolver = speciesResolver;
+        this.checksumAlgorithm = checksumAlgorithm != null ? checksumAlgorithm : ChecksumAlgorithm.MD5;
     }
 
     @Override
@@ -43,54 +64,140 @@ public class WhaleCountParser implements HtmlParser {
         List<ParsedReport> out = new ArrayList<>();
 
         // Only real data rows (skip header rows with <th>)
-        for (Element row : table.select("tbody > tr:has(td)")) {
-            Elements tds = row.select("td");
-            if (tds.size() < 3) continue;
-
-            String dateText = tds.get(0).text();
-            String toursText = tds.get(1).text();
-            String details   = tds.get(2).text();
-
-            // Parse date & tours; if either fails, skip this row
-            final LocalDate date;
-            final Integer tours;
-            try {
-                date  = parseDate(dateText);
-                tours = parseTours(toursText);
-            } catch (IllegalArgumentException ex) {
-                continue;
-            }
+        for (Element row : table.select(DATA_ROWS)) {
+            ParsedReport report = parseRow(row, sourceUrl);
+            if (report != null) out.add(report);
+        }
+
+        return out;
+    }
+
+    /**
+     * Streams the page instead of building its DOM: each {@code <tr>} is handed over by jsoup's StreamParser
+     * as soon as it closes, parsed, and dropped from the tree again. Reading stops at the end of the
+     * Recent Counts table, so the (long) rest of the page is never tokenized.
+     */
+    @Override
+    public void parse(Reader html, String sourceUrl, Consumer<ParsedReport> sink) throws IOException {
+        parse(html, sourceUrl, null, sink);
+    }
 
-            // 1) Bad weather handling
-            ReportStatus status = parseStatus(details);
-            if (status == ReportStatus.bad_weather) {
-                out.add(new ParsedReport(date, tours, status, List.of(), sourceUrl));
-                continue;
+    /**
+     * As above, but stops at the first data row dated before {@code since}: Recent Counts lists the newest day
+     * first, so nothing after that row is tokenized, resolved or checksummed.
+     */
+    @Override
+    public void parse(Reader html, String sourceUrl, LocalDate since, Consumer<ParsedReport> sink) throws IOException {
+        try (StreamParser streamer = new StreamParser(Parser.htmlParser()).parse(html, sourceUrl)) {
+            Element target = null;   // the Recent Counts table, once one of its rows has been seen
+            Element checked = null;  // last table already tested and rejected
+
+            for (Iterator<Element> it = streamer.iterator(); it.hasNext(); ) {
+                Element el = it.next();
+
+                if ("table".equals(el.normalName())) {
+                    if (el == target) {
+                        streamer.stop();
+                        return;
+                    }
+                    // keep the (now empty) element so "h3 + table" adjacency stays as in the full DOM
+                    el.empty();
+                    continue;
+                }
+                if (!"tr".equals(el.normalName())) continue;
+
+                Element table = enclosingTable(el);
+                if (target == null && table != null && table != checked) {
+                    if (isRecentCountsTable(table)) target = table;
+                    else checked = table;
+                }
+
+                if (hasCell(el)) {
+                    if (table != null && table == target && el.parent() != null && "tbody".equals(el.parent().normalName())) {
+                        if (since != null && isBefore(el, since)) {
+                            streamer.stop();
+                            return;
+                        }
+                        ParsedReport report = parseRow(el, sourceUrl);
+                        if (report != null) sink.accept(report);
+                    }
+                    el.remove(); // data rows are done with; header rows stay for the TH-based match
+                }
             }
+        }
+    }
 
-            // 2) Parse observations from details
-            List<ParsedObservation> observations = parseObservations(details);
+    // One data row -> report, or null when date/tours don't parse (row skipped)
+    private ParsedReport parseRow(Element row, String sourceUrl) {
+        Elements tds = row.select(TD);
+        if (tds.size() < 3) return null;
 
-            // 3) Add report
-            out.add(new ParsedReport(date, tours, ReportStatus.ok, observations, sourceUrl));
+        String dateText = tds.get(0).text();
+        String toursText = tds.get(1).text();
+        String details   = tds.get(2).text();
 
+        // Parse date & tours; if either fails, skip this row
+        final LocalDate date;
+        final Integer tours;
+        try {
+            date  = parseDate(dateText);
+            tours = parseTours(toursText);
+        } catch (IllegalArgumentException ex) {
+            return null;
         }
 
-        return out;
+        // 1) Bad weather handling
+        ReportStatus status = parseStatus(details);
+        if (status == ReportStatus.bad_weather) {
+            return new ParsedReport(date, tours, status, List.of(), sourceUrl, checksumAlgorithm);
+        }
+
+        // 2) Parse observations from details
+        List<ParsedObservation> observations = parseObservations(details);
+
+        // 3) Report
+        return new ParsedReport(date, tours, ReportStatus.ok, observations, sourceUrl, checksumAlgorithm);
+    }
+
+    // only the date cell is read; an unparseable date is not "before" anything (parseRow skips that row anyway)
+    private boolean isBefore(Element row, LocalDate since) {
+        Element dateCell = row.selectFirst(TD);
+        if (dateCell == null) return false;
+        try {
+            return parseDate(dateCell.text()).isBefore(since);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // Streaming helpers: plain pointer walks instead of selector matching for every <tr> the page streams past
+    private static Element enclosingTable(Element row) {
+        for (Element p = row.parent(); p != null; p = p.parent()) {
+            if ("table".equals(p.normalName())) return p;
+        }
+        return null;
+    }
+
+    // cells are direct children of their <tr>
+    private static boolean hasCell(Element row) {
+        for (Element c = row.firstElementChild(); c != null; c = c.nextElementSibling()) {
+            if ("td".equals(c.normalName())) return true;
+        }
+        return false;
     }
 
     // given a Document, find and returns a table element from Newport whale count page
     private Element selectRecentCountsTable(Document doc) {
-        Element byHeader = doc.selectFirst("h3:containsOwn(Recent Counts) + table.data-table");
+        Element byHeader = doc.selectFirst(RECENT_COUNTS_BY_HEADER);
         if (byHeader != null) return byHeader;
 
         // Fallback by unique THs for this table
-        return doc.selectFirst(
-                "table.data-table" +
-                        ":has(th:matchesOwn(?i)^\\s*DATE\\s*$))" +
-                        ":has(th:matchesOwn(?i)^\\s*TOURS\\s*$))" +
-                        ":has(th:matchesOwn(?i)MAMMALS\\s+VIEWED)"
-        );
+        return doc.selectFirst(RECENT_COUNTS_BY_THS);
+    }
+
+    // Same two rules, asked of a single table (streaming mode sees tables one at a time)
+    private boolean isRecentCountsTable(Element table) {
+        return table.is(RECENT_COUNTS_BY_HEADER) || table.is(RECENT_COUNTS_BY_THS);
     }
 
     public LocalDate parseDate(String input) {
@@ -124,6 +231,14 @@ public class WhaleCountParser implements HtmlParser {
         return ReportStatus.ok;
     }
 
+    /**
+     * Splits a details cell into observations with one hand-written pass over the normalized text.
+     * Same rules the regex version had: items are separated by a comma that is not preceded by a digit
+     * and is followed (after optional spaces) by a digit, so "5,130" stays one number; an item is
+     * "<digits and commas><whitespace><label>"; trailing ASCII punctuation is dropped from the label.
+     * Counts are accumulated in place and labels are handed to the resolver as spans, so the only
+     * allocations are the normalized string and the resulting observations.
+     */
     public List<ParsedObservation> parseObservations(String description) {
         if (description == null) return List.of();
 
@@ -132,47 +247,105 @@ public class WhaleCountParser implements HtmlParser {
         if (norm.isBlank()) return List.of();
 
         List<ParsedObservation> out = new ArrayList<>();
-
-        // split into chunks: "4 fin whales", "1 mola mola", "2855 common dolphin", ...
-        String[] parts = ITEM_SPLIT.split(norm);
-
-        for (String part : parts) {
-            if (part.isBlank()) continue;
-
-            Matcher m = OBS_PATTERN.matcher(part);
-            if (!m.matches()) {
-                // e.g., "bad weather" or malformed segment — skip
-                continue;
+        final int n = norm.length();
+
+        int itemStart = 0;
+        int searchFrom = 0;
+        while (true) {
+            // find the next item separator: [sepStart, sepEnd) = spaces, comma, spaces; sepEnd sits on a digit
+            int sepStart = -1;
+            int sepEnd = -1;
+            for (int c = norm.indexOf(',', searchFrom); c >= 0; c = norm.indexOf(',', c + 1)) {
+                int next = c + 1;
+                while (next < n && isSpace(norm.charAt(next))) next++;
+                if (next >= n || !isDigit(norm.charAt(next))) continue;
+
+                // leftmost start of the space run before the comma that isn't directly preceded by a digit
+                int runStart = c;
+                while (runStart > searchFrom && isSpace(norm.charAt(runStart - 1))) runStart--;
+                for (int p = runStart; p <= c; p++) {
+                    if (p == 0 || !isDigit(norm.charAt(p - 1))) {
+                        sepStart = p;
+                        break;
+                    }
+                }
+                if (sepStart >= 0) {
+                    sepEnd = next;
+                    break;
+                }
             }
 
-            // 1) parse leading integer (allow thousands separators)
-            String countStr = m.group(1).replace(",", "");
-            final int individuals;
-            try {
-                individuals = Integer.parseInt(countStr);
-            } catch (NumberFormatException e) {
-                // bad number -> skip this chunk
-                continue;
-            }
+            int itemEnd = sepStart >= 0 ? sepStart : n;
+            ParsedObservation obs = parseItem(norm, itemStart, itemEnd);
+            if (obs != null) out.add(obs);
 
-            // 2) remaining text is the species label
-            String label = m.group(2).trim();
+            if (sepStart < 0) break;
+            itemStart = sepEnd;
+            searchFrom = sepEnd;
+        }
 
-            // minor cleanup (rare trailing punctuation)
-            label = label.replaceAll("[\\p{Punct}]+$", "").trim();
+        return out;
+    }
 
-            // 3) resolve to speciesId via resolver (aliases are already accounted for)
-            Optional<String> speciesId = speciesResolver.resolve(label);
-            if (speciesId.isEmpty()) {
-                // couldn’t resolve; skip this chunk (or log if added later)
-                continue;
+    // "<count> <label>" in norm[start, end) -> observation, or null if malformed / unresolvable
+    private ParsedObservation parseItem(String norm, int start, int end) {
+        // 1) leading count: digits with optional thousands separators, parsed in place
+        int i = start;
+        long count = 0;
+        boolean anyDigit = false;
+        for (; i < end; i++) {
+            char c = norm.charAt(i);
+            if (isDigit(c)) {
+                count = count * 10 + (c - '0');
+                if (count > Integer.MAX_VALUE) return null;   // bad number -> skip this chunk
+                anyDigit = true;
+            } else if (c != ',') {
+                break;
             }
+        }
+        if (i == start || !anyDigit) return null;
+
+        // 2) at least one space, then a non-empty label on a single line
+        int labelStart = i;
+        while (labelStart < end && isSpace(norm.charAt(labelStart))) labelStart++;
+        if (labelStart == i || labelStart == end) return null;
+        for (int k = labelStart; k < end; k++) {
+            if (isLineBreak(norm.charAt(k))) return null;
+        }
 
-            out.add(new ParsedObservation(speciesId.get(), individuals));
+        // 3) trim, drop trailing punctuation (rare), trim again
+        int labelEnd = end;
+        while (labelStart < labelEnd && norm.charAt(labelStart) <= ' ') labelStart++;
+        while (labelEnd > labelStart && norm.charAt(labelEnd - 1) <= ' ') labelEnd--;
+        while (labelEnd > labelStart && isAsciiPunct(norm.charAt(labelEnd - 1))) labelEnd--;
+        while (labelEnd > labelStart && norm.charAt(labelEnd - 1) <= ' ') labelEnd--;
+        if (labelStart == labelEnd) return null;
+
+        // 4) resolve to speciesId via resolver (aliases are already accounted for)
+        String speciesId = speciesResolver.resolveSpan(norm, labelStart, labelEnd);
+        if (speciesId == null) {
+            // couldn’t resolve; skip this chunk (or log if added later)
+            return null;
         }
+        return new ParsedObservation(speciesId, (int) count);
+    }
 
-        return out;
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // regex \s
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
+    // characters regex '.' does not match
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
 
+    // regex \p{Punct}: !"#$%&'()*+,-./:;<=>?@[\]^_`{|}~
+    private static boolean isAsciiPunct(char c) {
+        return (c >= '!' && c <= '/') || (c >= ':' && c <= '@') || (c >= '[' && c <= '`') || (c >= '{' && c <= '~');
+    }
 }
@@ -0,0 +1,213 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton over the normalized aliases, compiled once per alias reload.
+ * The goto/failure functions are flattened into a dense transition table over the aliases' own
+ * alphabet (every other char is one shared "other" symbol), so a scan is one array read per char
+ * and never allocates.
+ *
+ * Matching rules, in order:
+ *  1. the whole text is an alias -> that species (same as the old exact HashMap lookup);
+ *  2. otherwise the longest alias that ends the text on a word boundary, when every word before it is a
+ *     {@link #QUALIFIERS qualifier} that names no species ("juvenile gray whale" -> gray-whale);
+ *  3. anything else resolves to nothing, like an unknown label did before: another species ("gray whale with
+ *     fin whale"), or a word that makes it a different animal ("pygmy killer whale" is not an orca,
+ *     "atlantic white sided dolphin" not the pacific one). Such species need aliases of their own.
+ * A leading-only match such as "blue" in "blue shark" is deliberately not accepted.
+ */
+final class AliasTrie {
+
+    static final AliasTrie EMPTY = build(Map.of());
+
+    /** Words that may precede an alias without changing the species: age, family role, ecotype, filler. */
+    static final List<String> QUALIFIERS = List.of(
+            "a", "an", "the", "and", "with", "of", "pod", "pods",
+            "juvenile", "juveniles", "subadult", "subadults", "adult", "adults", "young", "yearling", "yearlings",
+            "newborn", "newborns", "calf", "calves", "baby", "babies", "mother", "mothers", "mom", "moms",
+            "cow", "cows", "transient", "transients", "resident", "residents", "coastal", "offshore",
+            "short-beaked", "long-beaked");
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final int[] asciiSymbol;                 // char < 128 -> symbol (0 = not in any alias)
+    private final Map<Character, Integer> symbol;    // the rest (rare: non-ASCII alias chars)
+    private final int alphabet;
+
+    private final int[] delta;        // state * alphabet + symbol -> next state
+    private final int[] depth;        // chars from root = length of the alias ending here
+    private final String[] ids;       // species id when an alias ends exactly at this state
+    private final int[] output;       // longest alias state in this state's suffix chain (itself included), or NONE
+    private final int[] nextOutput;   // next shorter alias state in the suffix chain, or NONE
+
+    private AliasTrie(int[] asciiSymbol, Map<Character, Integer> symbol, int alphabet,
+                      int[] delta, int[] depth, String[] ids, int[] output, int[] nextOutput) {
+        this.asciiSymbol = asciiSymbol;
+        this.symbol = symbol;
+        this.alphabet = alphabet;
+        this.delta = delta;
+        this.depth = depth;
+        this.ids = ids;
+        this.output = output;
+        this.nextOutput = nextOutput;
+    }
+
+    /** @param aliasToId normalized alias -> species id */
+    static AliasTrie build(Map<String, String> aliasToId) {
+        // 1) alphabet: symbol 0 is "any other char"
+        int[] ascii = new int[128];
+        Map<Character, Integer> other = new HashMap<>();
+        int alphabet = 1;
+        for (String alias : aliasToId.keySet()) {
+            for (int i = 0; i < alias.length(); i++) {
+                char c = alias.charAt(i);
+                if (c < 128) {
+                    if (ascii[c] == 0) ascii[c] = alphabet++;
+                } else if (!other.containsKey(c)) {
+                    other.put(c, alphabet++);
+                }
+            }
+        }
+
+        // 2) plain trie
+        List<int[]> children = new ArrayList<>();
+        List<String> idList = new ArrayList<>();
+        List<Integer> depthList = new ArrayList<>();
+        children.add(new int[alphabet]);
+        idList.add(null);
+        depthList.add(0);
+        for (Map.Entry<String, String> e : aliasToId.entrySet()) {
+            String alias = e.getKey();
+            if (alias.isEmpty()) continue;
+            int state = ROOT;
+            for (int i = 0; i < alias.length(); i++) {
+                int sym = symbolOf(ascii, other, alias.charAt(i));
+                int next = children.get(state)[sym];
+                if (next == 0) {
+                    next = children.size();
+                    children.add(new int[alphabet]);
+                    idList.add(null);
+                    depthList.add(i + 1);
+                    children.get(state)[sym] = next;
+                }
+                state = next;
+            }
+            idList.set(state, e.getValue());
+        }
+
+        // 3) failure links (BFS), folded into a complete transition table
+        int states = children.size();
+        int[] delta = new int[states * alphabet];
+        int[] fail = new int[states];
+        int[] output = new int[states];
+        int[] nextOutput = new int[states];
+        String[] ids = idList.toArray(new String[0]);
+        int[] depth = depthList.stream().mapToInt(Integer::intValue).toArray();
+        Arrays.fill(output, NONE);
+        Arrays.fill(nextOutput, NONE);
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int sym = 0; sym < alphabet; sym++) {
+            int child = children.get(ROOT)[sym];
+            delta[sym] = child; // 0 (root) when absent
+            if (child != 0) {
+                fail[child] = ROOT;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            nextOutput[state] = output[fail[state]];
+            output[state] = ids[state] != null ? state : nextOutput[state];
+            for (int sym = 0; sym < alphabet; sym++) {
+                int child = children.get(state)[sym];
+                if (child != 0) {
+                    fail[child] = delta[fail[state] * alphabet + sym];
+                    delta[state * alphabet + sym] = child;
+                    queue.add(child);
+                } else {
+                    delta[state * alphabet + sym] = delta[fail[state] * alphabet + sym];
+                }
+            }
+        }
+
+        return new AliasTrie(ascii, Map.copyOf(other), alphabet, delta, depth, ids, output, nextOutput);
+    }
+
+    /** Species id for normalized {@code text[start, end)} under the rules above, or null. */
+    @Nullable
+    String match(CharSequence text, int start, int end) {
+        if (start >= end) return null;
+
+        // run to the end of the text; the final state's outputs are exactly the aliases that end it
+        int state = ROOT;
+        for (int i = start; i < end; i++) {
+            state = step(state, text.charAt(i));
+        }
+
+        for (int t = output[state]; t != NONE; t = nextOutput[t]) {   // longest first
+            int matchStart = end - depth[t];
+            if (matchStart == start) return ids[t];                    // exact alias
+            if (isBoundary(text, matchStart - 1) && onlyQualifiers(text, start, matchStart - 1)) return ids[t];
+        }
+        return null;
+    }
+
+    // every word of text[start, end) is in QUALIFIERS; words are runs of letters, digits, '-' and '\''
+    private static boolean onlyQualifiers(CharSequence text, int start, int end) {
+        int i = start;
+        while (i < end) {
+            while (i < end && !isWordChar(text.charAt(i))) i++;
+            int wordStart = i;
+            while (i < end && isWordChar(text.charAt(i))) i++;
+            if (i > wordStart && !isQualifier(text, wordStart, i)) return false;
+        }
+        return true;
+    }
+
+    // compared in place, so a compound label costs no substring
+    private static boolean isQualifier(CharSequence text, int start, int end) {
+        next:
+        for (String q : QUALIFIERS) {
+            if (q.length() != end - start) continue;
+            for (int k = 0; k < q.length(); k++) {
+                if (q.charAt(k) != text.charAt(start + k)) continue next;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == '\'';
+    }
+
+    private int step(int state, char c) {
+        int sym;
+        if (c < 128) {
+            sym = asciiSymbol[c];
+        } else {
+            Integer s = symbol.get(c);   // only reached for non-ASCII input
+            sym = s == null ? 0 : s;
+        }
+        return delta[state * alphabet + sym];
+    }
+
+    private static int symbolOf(int[] ascii, Map<Character, Integer> other, char c) {
+        return c < 128 ? ascii[c] : other.get(c);
+    }
+
+    // a word starts/ends next to anything that isn't a letter or digit
+    private static boolean isBoundary(CharSequence text, int i) {
+        return !Character.isLetterOrDigit(text.charAt(i));
+    }
+}
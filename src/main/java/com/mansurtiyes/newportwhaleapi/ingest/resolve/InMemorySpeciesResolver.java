@@ -1,57 +1,192 @@
 package com.mansurtiyes.newportwhaleapi.ingest.resolve;
 
-import com.mansurtiyes.newportwhaleapi.model.Species;
+import com.mansurtiyes.newportwhaleapi.repository.SpeciesAliases;
 import com.mansurtiyes.newportwhaleapi.repository.SpeciesRepository;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.event.EventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import jakarta.annotation.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class InMemorySpeciesResolver implements SpeciesResolver {
     private final SpeciesRepository speciesRepository;
 
-    // Volatile + copy-on-write for atomic refreshes
-    private volatile Map<String, String> aliasToId = Map.of();
+    // Upper bound on memoized raw labels (and, separately, spans); a memo is dropped wholesale when it fills up
+    static final int MEMO_CAPACITY = 4096;
+
+    // Snapshot versions that are not a species catalog version (those start at 1, see V5)
+    static final long NOT_LOADED = -1;   // nothing loaded yet; the first lookup loads from the DB
+    static final long UNVERSIONED = 0;   // loaded via load(Map); the next reloadIfChanged() replaces it
+
+    // Volatile + copy-on-write for atomic refreshes; the memo belongs to the snapshot it was computed from
+    private volatile Aliases aliases = Aliases.of(NOT_LOADED, AliasTrie.EMPTY);
+
+    // memo: raw label -> result (Optional.empty() for misses), so repeat labels cost one hash lookup and no allocation;
+    // spans: the same for resolveSpan, keyed by the normalized span in place
+    private record Aliases(long version, AliasTrie trie, ConcurrentHashMap<String, Optional<String>> memo, SpanMemo spans) {
+        static Aliases of(long version, AliasTrie trie) {
+            return new Aliases(version, trie, new ConcurrentHashMap<>(), new SpanMemo(MEMO_CAPACITY));
+        }
+    }
+
+    // species_resolver_labels_total{lookup=memo|trie, outcome=resolved|unresolved}
+    private final Counter memoResolved;
+    private final Counter memoUnresolved;
+    private final Counter trieResolved;
+    private final Counter trieUnresolved;
 
     public InMemorySpeciesResolver(SpeciesRepository speciesRepository) {
+        this(speciesRepository, new CompositeMeterRegistry());   // no registries attached: meters are no-ops
+    }
+
+    @Autowired
+    public InMemorySpeciesResolver(SpeciesRepository speciesRepository, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(speciesRepository, meterRegistry.getIfAvailable(CompositeMeterRegistry::new));   // slices (e.g. @DataJpaTest) have none
+    }
+
+    InMemorySpeciesResolver(SpeciesRepository speciesRepository, MeterRegistry meterRegistry) {
         this.speciesRepository = speciesRepository;
+        this.memoResolved = labels(meterRegistry, "memo", "resolved");
+        this.memoUnresolved = labels(meterRegistry, "memo", "unresolved");
+        this.trieResolved = labels(meterRegistry, "trie", "resolved");
+        this.trieUnresolved = labels(meterRegistry, "trie", "unresolved");
+    }
+
+    private static Counter labels(MeterRegistry registry, String lookup, String outcome) {
+        return Counter.builder("species.resolver.labels")
+                .description("Observation labels resolved, by where the answer came from and whether a species matched")
+                .tags("lookup", lookup, "outcome", outcome)
+                .register(registry);
+    }
+
+    /** Unconditional reload from the DB. */
+    public synchronized void reload() {
+        long version = speciesRepository.findCatalogVersion();
+        load(version, speciesRepository.findAllAliases());
+    }
+
+    /**
+     * One-row poll of the species catalog version; rebuilds the alias table only when it moved since the last load.
+     * Synchronized with reload() and the lazy first load, so the bootstrap ingest and any other caller never load twice.
+     *
+     * @return the catalog version the alias table now reflects
+     */
+    public synchronized long reloadIfChanged() {
+        // version first: a write racing with the alias read then only causes one extra reload next time
+        long version = speciesRepository.findCatalogVersion();
+        if (version != aliases.version()) {
+            load(version, speciesRepository.findAllAliases());
+        }
+        return version;
+    }
+
+    private void load(long version, List<SpeciesAliases> rows) {
+        Map<String, Collection<String>> aliasesById = new LinkedHashMap<>();
+        for (SpeciesAliases s : rows) {
+            if (s.getAliases() != null) aliasesById.put(s.getId(), s.getAliases()); // should always be the case
+        }
+        aliases = Aliases.of(version, build(aliasesById));
     }
 
-    @EventListener(ApplicationReadyEvent.class)
-    public void loadOnStartup() {
-        reload();
+    /** Replaces the alias table with the given species id -> raw aliases, bypassing the DB (benchmarks, tests). */
+    public synchronized void load(Map<String, ? extends Collection<String>> aliasesById) {
+        aliases = Aliases.of(UNVERSIONED, build(aliasesById));
     }
 
-    public void reload() {
-        List<Species> all = speciesRepository.findAll();
+    private static AliasTrie build(Map<String, ? extends Collection<String>> aliasesById) {
         Map<String, String> map = new HashMap<>();
 
         // for each species
-        for (Species s : all) {
-            String id = s.getId();      // get it's id (will be value for alias as key)
-
-            if (s.getAliases() != null) { // if there are alias (should always be the case)
-                for (String alias : s.getAliases()) {       // for each alias
-                    if (alias == null || alias.isBlank()) continue;     // if alias is null or not present (should never happen)
-                    String norm = TextNormalizer.norm(alias);           // normalize it
-                    map.put(norm, id);                  // add entry in the map as a alias:id
-                }
+        for (Map.Entry<String, ? extends Collection<String>> e : aliasesById.entrySet()) {
+            String id = e.getKey();      // get it's id (will be value for alias as key)
+
+            for (String alias : e.getValue()) {       // for each alias
+                if (alias == null || alias.isBlank()) continue;     // if alias is null or not present (should never happen)
+                String norm = TextNormalizer.norm(alias);           // normalize it
+                map.put(norm, id);                  // add entry in the map as a alias:id
             }
         }
 
-        aliasToId = Map.copyOf(map);
+        return AliasTrie.build(map);
+    }
+
+    private Aliases current() {
+        Aliases current = aliases;
+        if (current.version() != NOT_LOADED) return current;
+        synchronized (this) {
+            if (aliases.version() == NOT_LOADED) reloadIfChanged();
+            return aliases;
+        }
     }
 
+    /**
+     * Exact alias first, then the longest alias ending the label after qualifier words only ("juvenile gray whale");
+     * see {@link AliasTrie}. Results, misses included, are memoized per raw label.
+     */
     @Override
     public Optional<String> resolve(String rawLabel) {
         if (rawLabel == null) return Optional.empty();
+        Aliases current = current();
+
+        Optional<String> hit = current.memo().get(rawLabel);
+        if (hit != null) {
+            (hit.isPresent() ? memoResolved : memoUnresolved).increment();
+            return hit;
+        }
+
         String key = TextNormalizer.norm(rawLabel);
-        String id = aliasToId.get(key);
-        return Optional.ofNullable(id);
+        Optional<String> resolved = Optional.ofNullable(current.trie().match(key, 0, key.length()));
+        (resolved.isPresent() ? trieResolved : trieUnresolved).increment();
+        if (current.memo().size() >= MEMO_CAPACITY) current.memo().clear();
+        current.memo().put(rawLabel, resolved);
+        return resolved;
+    }
+
+    /**
+     * Span lookup for text that is already TextNormalizer output (lowercase, single spaces) and trimmed at the span.
+     * Memoized per span like {@link #resolve(String)} per raw label, without taking a substring for repeats.
+     * On a miss an ASCII span is its own normal form, so the trie scans it in place; anything else is normalized
+     * again first to stay identical to {@link #resolve(String)}.
+     */
+    @Nullable
+    @Override
+    public String resolveSpan(String text, int start, int end) {
+        Aliases current = current();
+
+        SpanMemo.Entry hit = current.spans().get(text, start, end);
+        if (hit != null) {
+            (hit.id() != null ? memoResolved : memoUnresolved).increment();
+            return hit.id();
+        }
+
+        String id = isAscii(text, start, end)
+                ? current.trie().match(text, start, end)
+                : matchNormalized(current.trie(), text.substring(start, end));
+        (id != null ? trieResolved : trieUnresolved).increment();
+        current.spans().put(text, start, end, id);
+        return id;
+    }
+
+    private static boolean isAscii(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    private static String matchNormalized(AliasTrie trie, String label) {
+        String key = TextNormalizer.norm(label);
+        return trie.match(key, 0, key.length());
     }
 }
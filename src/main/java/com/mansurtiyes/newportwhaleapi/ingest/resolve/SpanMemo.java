@@ -0,0 +1,77 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import jakarta.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Memo for {@link InMemorySpeciesResolver#resolveSpan}, keyed by the characters of a span of normalized text, so a
+ * repeat label costs one hash over the span plus a regionMatches and allocates nothing; the substring is only
+ * taken the first time a label is seen.
+ * <p>
+ * Open addressing with linear probing over immutable entries. Parsers run concurrently, so it is lock-free:
+ * a racing put may be lost and a reader may miss, both of which only mean one more trie lookup. When it fills up
+ * the table is swapped for an empty one, never cleared in place.
+ */
+final class SpanMemo {
+
+    /** A memoized span; {@code id} is null for labels that resolve to no species. */
+    record Entry(int hash, String key, @Nullable String id) {}
+
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile Entry[] table;
+
+    SpanMemo(int capacity) {
+        this.capacity = capacity;
+        this.table = new Entry[tableSize(capacity)];
+    }
+
+    // load factor <= 0.5, power of two for masking
+    private static int tableSize(int capacity) {
+        return Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1) << 1;
+    }
+
+    /** The entry for {@code text[start, end)}, or null when that span has not been memoized. */
+    @Nullable
+    Entry get(String text, int start, int end) {
+        Entry[] t = table;
+        int hash = hash(text, start, end);
+        int mask = t.length - 1;
+        for (int i = hash & mask, probes = 0; probes < t.length; i = (i + 1) & mask, probes++) {
+            Entry e = t[i];
+            if (e == null) return null;
+            if (e.hash() == hash && matches(e.key(), text, start, end)) return e;
+        }
+        return null;
+    }
+
+    void put(String text, int start, int end, @Nullable String id) {
+        if (size.incrementAndGet() > capacity) {
+            table = new Entry[table.length];
+            size.set(1);
+        }
+        Entry[] t = table;
+        int hash = hash(text, start, end);
+        Entry entry = new Entry(hash, text.substring(start, end), id);
+        int mask = t.length - 1;
+        for (int i = hash & mask, probes = 0; probes < t.length; i = (i + 1) & mask, probes++) {
+            Entry e = t[i];
+            if (e == null || (e.hash() == hash && matches(e.key(), text, start, end))) {
+                t[i] = entry;
+                return;
+            }
+        }
+    }
+
+    // String.hashCode over the span, with the high bits folded in for the mask
+    private static int hash(String text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) h = 31 * h + text.charAt(i);
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String key, String text, int start, int end) {
+        return key.length() == end - start && text.regionMatches(start, key, 0, key.length());
+    }
+}
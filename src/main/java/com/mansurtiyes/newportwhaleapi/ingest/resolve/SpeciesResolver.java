@@ -1,9 +1,17 @@
 package com.mansurtiyes.newportwhaleapi.ingest.resolve;
 
+import jakarta.annotation.Nullable;
+
 import java.util.Optional;
 
 public interface SpeciesResolver {
     // Returns canonical speciesId for a raw label if resolvable, else empty
     Optional<String> resolve(String rawLabel);
 
+    // Same answer as resolve(text.substring(start, end)), or null when unresolvable.
+    // For callers that already hold TextNormalizer output; implementations may look the span up without copying it.
+    @Nullable
+    default String resolveSpan(String text, int start, int end) {
+        return resolve(text.substring(start, end)).orElse(null);
+    }
 }
@@ -1,18 +1,124 @@
 package com.mansurtiyes.newportwhaleapi.ingest.resolve;
 
+import java.text.Normalizer;
+import java.util.Locale;
+
 // static class only to be used for norm method
 public final class TextNormalizer {
     private TextNormalizer() {}
 
+    /**
+     * NFKC, fold NBSP/soft hyphen to space, en/em dash and minus to '-', curly apostrophe to '\'',
+     * trim, lowercase (default locale), collapse whitespace runs to a single space.
+     *
+     * Pure-ASCII input (the usual case) is handled in one pass without NFKC or regex, and comes back
+     * as the same instance when it is already normalized. Everything else takes the general path;
+     * both give exactly what the original normalize/replace/toLowerCase/replaceAll chain did.
+     */
     public static String norm(String s) {
         if (s == null) return "";
-        String t = java.text.Normalizer.normalize(s, java.text.Normalizer.Form.NFKC);
-        t = t.replace('\u00A0', ' ')   // NBSP -> space
-                .replace('\u2013', '-')   // en dash
-                .replace('\u2014', '-')   // em dash
-                .replace('\u2212', '-')   // minus sign
-                .replace('\u00AD', ' ');  // soft hyphen -> space
-        t = t.replace('’','\'');       // curly -> straight apostrophe
-        return t.trim().toLowerCase().replaceAll("\\s+", " ");
+        String ascii = asciiFastPath(s);
+        return ascii != null ? ascii : general(s);
+    }
+
+    // null if s has a non-ASCII char or the default locale lowercases ASCII specially (dotless i etc.)
+    private static String asciiFastPath(String s) {
+        if (!asciiLowercaseIsPlain()) return null;
+        final int n = s.length();
+
+        // trim bounds (String.trim semantics: anything <= ' ')
+        int start = 0;
+        int end = n;
+        while (start < end && s.charAt(start) <= ' ') start++;
+        while (end > start && s.charAt(end - 1) <= ' ') end--;
+
+        char[] out = null;   // allocated on the first char that changes
+        int len = 0;
+        boolean inSpace = false;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) return null;
+
+            char mapped;
+            if (isSpace(c)) {
+                if (inSpace) {                       // rest of a whitespace run: drop it
+                    if (out == null) out = copyPrefix(s, start, i, end);
+                    continue;
+                }
+                inSpace = true;
+                mapped = ' ';
+            } else {
+                inSpace = false;
+                mapped = (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+            }
+
+            if (out == null && mapped != c) out = copyPrefix(s, start, i, end);
+            if (out != null) out[len] = mapped;
+            len++;
+        }
+
+        if (out != null) return new String(out, 0, len);
+        return (start == 0 && end == n) ? s : s.substring(start, end);
+    }
+
+    private static char[] copyPrefix(String s, int start, int upTo, int end) {
+        char[] out = new char[end - start];
+        s.getChars(start, upTo, out, 0);
+        return out;
+    }
+
+    // Turkish/Azeri map 'I' to dotless i and Lithuanian has its own i rules; leave those to toLowerCase()
+    private static boolean asciiLowercaseIsPlain() {
+        String lang = Locale.getDefault().getLanguage();
+        return !(lang.equals("tr") || lang.equals("az") || lang.equals("lt"));
+    }
+
+    private static String general(String s) {
+        String t = Normalizer.normalize(s, Normalizer.Form.NFKC);
+
+        // single pass over the NFKC output for the character folds
+        char[] chars = t.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            switch (chars[i]) {
+                case '\u00A0', '\u00AD' -> chars[i] = ' ';              // NBSP, soft hyphen -> space
+                case '\u2013', '\u2014', '\u2212' -> chars[i] = '-';    // en dash, em dash, minus sign
+                case '\u2019' -> chars[i] = '\'';                       // curly -> straight apostrophe
+                default -> { }
+            }
+        }
+
+        // toLowerCase() must see the whole string (context-sensitive mappings such as final sigma)
+        String lower = new String(chars).trim().toLowerCase();
+        return collapseWhitespace(lower);
+    }
+
+    // replaceAll("\\s+", " ") without the regex; returns s itself when there is nothing to collapse
+    private static String collapseWhitespace(String s) {
+        final int n = s.length();
+        int i = 0;
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            if (isSpace(c) && (c != ' ' || (i + 1 < n && isSpace(s.charAt(i + 1))))) break;
+        }
+        if (i == n) return s;
+
+        StringBuilder sb = new StringBuilder(n).append(s, 0, i);
+        boolean inSpace = false;
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            if (isSpace(c)) {
+                if (!inSpace) sb.append(' ');
+                inSpace = true;
+            } else {
+                sb.append(c);
+                inSpace = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    // regex \s
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 }
@@ -0,0 +1,139 @@
+package com.mansurtiyes.newportwhaleapi.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "ingest_source")
+public class IngestSource {
+
+    @Id
+    @Column(name = "source_url", nullable = false, updatable = false)
+    private String sourceUrl;
+
+    // HTTP validators echoed back on the next conditional GET (If-None-Match / If-Modified-Since)
+    @Column(name = "etag")
+    private String etag;
+
+    @Column(name = "last_modified")
+    private String lastModified;
+
+    // MD5 of the Recent Counts region of the last processed page (see PageFingerprint)
+    @Column(name = "page_fingerprint", columnDefinition = "uuid")
+    private UUID pageFingerprint;
+
+    // species catalog version the last processed page was resolved against (see SpeciesRepository.findCatalogVersion)
+    @Column(name = "species_catalog_version")
+    private Long speciesCatalogVersion;
+
+    // newest report_date this source has been reconciled up to; routine runs only re-check the days just before it
+    @Column(name = "watermark")
+    private LocalDate watermark;
+
+    // when every row of this source was last checked (not just the lookback window)
+    @Column(name = "last_full_reconcile_at")
+    private OffsetDateTime lastFullReconcileAt;
+
+    @Column(name = "fetched_at")
+    private OffsetDateTime fetchedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    public IngestSource() {
+    }
+
+    public IngestSource(String sourceUrl) {
+        this.sourceUrl = sourceUrl;
+    }
+
+    public String getSourceUrl() {
+        return sourceUrl;
+    }
+
+    public void setSourceUrl(String sourceUrl) {
+        this.sourceUrl = sourceUrl;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public UUID getPageFingerprint() {
+        return pageFingerprint;
+    }
+
+    public void setPageFingerprint(UUID pageFingerprint) {
+        this.pageFingerprint = pageFingerprint;
+    }
+
+    public Long getSpeciesCatalogVersion() {
+        return speciesCatalogVersion;
+    }
+
+    public void setSpeciesCatalogVersion(Long speciesCatalogVersion) {
+        this.speciesCatalogVersion = speciesCatalogVersion;
+    }
+
+    public LocalDate getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(LocalDate watermark) {
+        this.watermark = watermark;
+    }
+
+    public OffsetDateTime getLastFullReconcileAt() {
+        return lastFullReconcileAt;
+    }
+
+    public void setLastFullReconcileAt(OffsetDateTime lastFullReconcileAt) {
+        this.lastFullReconcileAt = lastFullReconcileAt;
+    }
+
+    public OffsetDateTime getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(OffsetDateTime fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
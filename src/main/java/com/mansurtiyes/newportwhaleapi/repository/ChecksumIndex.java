@@ -0,0 +1,66 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Stored checksums for a contiguous date window, keyed by epoch-day.
+ * Report dates are dense (one row per calendar day), so a flat array offset from the
+ * window start is the primitive-keyed map: no boxing, no hashing, O(1) lookups.
+ */
+public final class ChecksumIndex {
+
+    private static final ChecksumIndex EMPTY = new ChecksumIndex(0, new UUID[0]);
+
+    private final long firstEpochDay;
+    private final UUID[] slots;
+    private int size;
+
+    private ChecksumIndex(long firstEpochDay, UUID[] slots) {
+        this.firstEpochDay = firstEpochDay;
+        this.slots = slots;
+    }
+
+    static ChecksumIndex forWindow(LocalDate start, LocalDate end) {
+        long first = start.toEpochDay();
+        long span = end.toEpochDay() - first + 1;
+        if (span <= 0) return EMPTY;
+        if (span > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Date window too large: " + start + " .. " + end);
+        }
+        return new ChecksumIndex(first, new UUID[(int) span]);
+    }
+
+    public static ChecksumIndex empty() {
+        return EMPTY;
+    }
+
+    void put(LocalDate date, UUID checksum) {
+        int slot = slot(date);
+        if (slot < 0) throw new IllegalArgumentException("Date outside window: " + date);
+        if (slots[slot] == null) size++;
+        slots[slot] = checksum;
+    }
+
+    /** Stored checksum for the date, or null when no report exists (or the date is outside the window). */
+    public UUID get(LocalDate date) {
+        int slot = slot(date);
+        return slot < 0 ? null : slots[slot];
+    }
+
+    /** True when a report for this date is stored with exactly this checksum (i.e. nothing to write). */
+    public boolean matches(LocalDate date, UUID checksum) {
+        UUID stored = get(date);
+        return stored != null && stored.equals(checksum);
+    }
+
+    /** Number of dates in the window that have a stored report. */
+    public int size() {
+        return size;
+    }
+
+    private int slot(LocalDate date) {
+        long offset = date.toEpochDay() - firstEpochDay;
+        return (offset < 0 || offset >= slots.length) ? -1 : (int) offset;
+    }
+}
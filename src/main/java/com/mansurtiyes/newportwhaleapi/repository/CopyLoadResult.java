@@ -0,0 +1,12 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+/**
+ * Outcome of a COPY backfill: rows streamed into staging, and rows the merge actually wrote.
+ * Reports whose checksum already matched are staged but neither rewritten nor have their observations touched.
+ */
+public record CopyLoadResult(long stagedReports,
+                             long stagedObservations,
+                             int reportsWritten,
+                             int observationsWritten,
+                             int observationsDeleted) {
+}
@@ -0,0 +1,24 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface DailyReportBulkRepository {
+    /** Load every stored checksum in [start, end] with a single range query. */
+    ChecksumIndex findChecksumsBetween(LocalDate start, LocalDate end);
+
+    /** source_url of every stored day in [start, end]; which source currently owns each day. */
+    Map<LocalDate, String> findSourceUrlsBetween(LocalDate start, LocalDate end);
+
+    /**
+     * Insert-or-update the day rows for the given reports in JDBC batches.
+     * Version and updated_at are bumped in SQL, and only for rows whose checksum actually changed.
+     *
+     * @return number of rows inserted or updated
+     */
+    int upsertAll(List<ParsedReport> reports, OffsetDateTime fetchedAt);
+}
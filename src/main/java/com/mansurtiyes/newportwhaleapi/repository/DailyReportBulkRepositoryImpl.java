@@ -0,0 +1,106 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+import jakarta.transaction.Transactional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+@Repository
+class DailyReportBulkRepositoryImpl implements DailyReportBulkRepository {
+
+    // rows per JDBC batch; a page is ~200 rows, so ingest is normally a single batch
+    private static final int BATCH_SIZE = 500;
+
+    // Same row the JPA entity would write, minus the merge SELECT and per-row flush.
+    // The WHERE on the update arm leaves identical rows untouched (no new tuple, no version bump).
+    private static final String UPSERT_SQL = """
+        INSERT INTO daily_report (report_date, tours, status, fetched_at, source_url, checksum)
+        VALUES (?, ?, CAST(? AS report_status), ?, ?, ?)
+        ON CONFLICT (report_date) DO UPDATE SET
+            tours      = EXCLUDED.tours,
+            status     = EXCLUDED.status,
+            fetched_at = EXCLUDED.fetched_at,
+            source_url = EXCLUDED.source_url,
+            checksum   = EXCLUDED.checksum,
+            version    = daily_report.version + 1,
+            updated_at = now()
+        WHERE daily_report.checksum IS DISTINCT FROM EXCLUDED.checksum
+        """;
+
+    private final JdbcTemplate jdbc;
+
+    DailyReportBulkRepositoryImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public ChecksumIndex findChecksumsBetween(LocalDate start, LocalDate end) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(end, "end");
+        ChecksumIndex index = ChecksumIndex.forWindow(start, end);
+        if (end.isBefore(start)) return index;
+
+        // one round trip for the whole window (PK range scan); rows stream straight into the index
+        jdbc.query(
+                "SELECT report_date, checksum FROM daily_report WHERE report_date BETWEEN ? AND ?",
+                ps -> {
+                    ps.setObject(1, start);
+                    ps.setObject(2, end);
+                },
+                rs -> {
+                    index.put(rs.getObject("report_date", LocalDate.class), rs.getObject("checksum", UUID.class));
+                }
+        );
+        return index;
+    }
+
+    @Override
+    public Map<LocalDate, String> findSourceUrlsBetween(LocalDate start, LocalDate end) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(end, "end");
+        Map<LocalDate, String> out = new HashMap<>();
+        jdbc.query(
+                "SELECT report_date, source_url FROM daily_report WHERE report_date BETWEEN ? AND ?",
+                ps -> {
+                    ps.setObject(1, start);
+                    ps.setObject(2, end);
+                },
+                rs -> {
+                    out.put(rs.getObject("report_date", LocalDate.class), rs.getString("source_url"));
+                }
+        );
+        return out;
+    }
+
+    @Transactional
+    @Override
+    public int upsertAll(List<ParsedReport> reports, OffsetDateTime fetchedAt) {
+        if (reports == null || reports.isEmpty()) return 0;
+        Objects.requireNonNull(fetchedAt, "fetchedAt");
+
+        int[][] counts = jdbc.batchUpdate(UPSERT_SQL, reports, BATCH_SIZE, (ps, r) -> {
+            ps.setObject(1, r.getDate());
+            ps.setInt(2, r.getTours());
+            ps.setString(3, r.getStatus().name());
+            ps.setObject(4, fetchedAt);
+            ps.setString(5, r.getSourceUrl());
+            ps.setObject(6, r.getChecksum());
+        });
+
+        int affected = 0;
+        for (int[] batch : counts) {
+            for (int n : batch) {
+                if (n > 0) affected += n;
+            }
+        }
+        return affected;
+    }
+}
@@ -12,7 +12,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface DailyReportRepository extends JpaRepository<DailyReport, LocalDate> {
+public interface DailyReportRepository extends JpaRepository<DailyReport, LocalDate>, DailyReportBulkRepository, ReportCopyLoader {
 
     /**
      * Returns the checksum for the given report date, if present.
@@ -20,6 +20,12 @@ public interface DailyReportRepository extends JpaRepository<DailyReport, LocalD
     @Query("select d.checksum from DailyReport d where d.reportDate = :date")
     Optional<UUID> findCheckSumByDate(@Param("date") LocalDate date);
 
+    /**
+     * Newest stored report date (PK index, one row); feeds the ingest data-age gauge.
+     */
+    @Query("select max(d.reportDate) from DailyReport d")
+    Optional<LocalDate> findNewestReportDate();
+
     /**
      * Inserts (or updates if same PK) a DailyReport.
      * You can also directly use JpaRepository#save, this is just a named convenience.
@@ -0,0 +1,9 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import com.mansurtiyes.newportwhaleapi.model.IngestSource;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IngestSourceRepository extends JpaRepository<IngestSource, String> {
+}
@@ -1,6 +1,7 @@
 package com.mansurtiyes.newportwhaleapi.repository;
 
 import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -8,4 +9,10 @@ import java.util.List;
 public interface ObservationBulkRepository {
     /** Replace all observations for the given date with the provided snapshot. */
     void replaceAllForDate(LocalDate date, List<ParsedObservation> observations);
+
+    /**
+     * Replace the observation snapshots of every given report at once (bad-weather days become empty).
+     * Stored rows are diffed against the snapshots and only the needed inserts/updates/deletes are written.
+     */
+    ObservationDiff replaceAll(List<ParsedReport> reports);
 }
@@ -1,19 +1,53 @@
 package com.mansurtiyes.newportwhaleapi.repository;
 
 import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
 import jakarta.transaction.Transactional;
-import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
-import java.sql.PreparedStatement;
+import java.sql.Connection;
+import java.sql.Date;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 class ObservationBulkRepositoryImpl implements ObservationBulkRepository {
 
+    // Every statement binds whole arrays: one round trip per kind of change, and the
+    // statement text (hence the server-side prepared plan) never depends on the row count.
+    private static final String SELECT_SQL = """
+        SELECT report_date, species_id, individuals
+        FROM observation
+        WHERE report_date = ANY (?)
+        """;
+
+    private static final String DELETE_SQL = """
+        DELETE FROM observation o
+        USING unnest(?::date[], ?::text[]) AS d(report_date, species_id)
+        WHERE o.report_date = d.report_date
+          AND o.species_id  = d.species_id
+        """;
+
+    private static final String UPDATE_SQL = """
+        UPDATE observation o
+        SET individuals = u.individuals
+        FROM unnest(?::date[], ?::text[], ?::int[]) AS u(report_date, species_id, individuals)
+        WHERE o.report_date = u.report_date
+          AND o.species_id  = u.species_id
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO observation (report_date, species_id, individuals)
+        SELECT report_date, species_id, individuals
+        FROM unnest(?::date[], ?::text[], ?::int[]) AS i(report_date, species_id, individuals)
+        """;
+
     private final JdbcTemplate jdbc;
 
     ObservationBulkRepositoryImpl(JdbcTemplate jdbc) {
@@ -23,27 +57,120 @@ class ObservationBulkRepositoryImpl implements ObservationBulkRepository {
     @Transactional
     @Override
     public void replaceAllForDate(LocalDate date, List<ParsedObservation> observations) {
-        // 1) delete snapshot for that date
-        jdbc.update("DELETE FROM observation WHERE report_date = ?", ps -> {
-            // PG JDBC 42+ supports setObject(LocalDate); if not, use Date.valueOf(date)
-            ps.setObject(1, date);
-        });
-
-        // 2) nothing else to insert?
-        if (observations == null || observations.isEmpty()) return;
-
-        // 3) batch INSERT (leverages FK to daily_report + species already existing)
-        jdbc.batchUpdate(
-                "INSERT INTO observation (report_date, species_id, individuals) VALUES (?, ?, ?)",
-                new BatchPreparedStatementSetter() {
-                    @Override public void setValues(PreparedStatement ps, int i) throws SQLException {
-                        ParsedObservation o = observations.get(i);
-                        ps.setObject(1, date);               // or ps.setDate(1, java.sql.Date.valueOf(date))
-                        ps.setString(2, o.speciesId());
-                        ps.setInt(3, o.individuals());
-                    }
-                    @Override public int getBatchSize() { return observations.size(); }
-                }
-        );
+        Map<LocalDate, List<ParsedObservation>> snapshot = new HashMap<>();
+        snapshot.put(date, observations == null ? List.of() : observations);
+        apply(snapshot);
+    }
+
+    @Transactional
+    @Override
+    public ObservationDiff replaceAll(List<ParsedReport> reports) {
+        if (reports == null || reports.isEmpty()) return ObservationDiff.NONE;
+
+        Map<LocalDate, List<ParsedObservation>> snapshots = new HashMap<>();
+        for (ParsedReport r : reports) {
+            // bad weather days keep no observation rows, whatever the parser attached
+            snapshots.put(r.getDate(), r.getStatus() == ReportStatus.bad_weather ? List.of() : r.getObservations());
+        }
+        return apply(snapshots);
+    }
+
+    private ObservationDiff apply(Map<LocalDate, List<ParsedObservation>> snapshots) {
+        // 1) stored rows for all affected dates, in one query
+        Map<LocalDate, Map<String, Integer>> stored = new HashMap<>();
+        Date[] dates = snapshots.keySet().stream().map(Date::valueOf).toArray(Date[]::new);
+        jdbc.query(SELECT_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("date", dates)),
+                rs -> {
+                    stored.computeIfAbsent(rs.getObject("report_date", LocalDate.class), d -> new HashMap<>())
+                            .put(rs.getString("species_id"), rs.getInt("individuals"));
+                });
+
+        // 2) diff in memory
+        Rows inserts = new Rows();
+        Rows updates = new Rows();
+        Rows deletes = new Rows();
+        for (Map.Entry<LocalDate, List<ParsedObservation>> e : snapshots.entrySet()) {
+            LocalDate date = e.getKey();
+            Map<String, Integer> wanted = collapse(e.getValue());
+            Map<String, Integer> have = stored.getOrDefault(date, Map.of());
+
+            for (Map.Entry<String, Integer> w : wanted.entrySet()) {
+                Integer current = have.get(w.getKey());
+                if (current == null) inserts.add(date, w.getKey(), w.getValue());
+                else if (!current.equals(w.getValue())) updates.add(date, w.getKey(), w.getValue());
+            }
+            for (String speciesId : have.keySet()) {
+                if (!wanted.containsKey(speciesId)) deletes.add(date, speciesId, 0);
+            }
+        }
+
+        // 3) apply only what changed; deletes first so a species can't collide with itself
+        if (!deletes.isEmpty()) {
+            jdbc.update(DELETE_SQL, ps -> {
+                Connection con = ps.getConnection();
+                ps.setArray(1, deletes.dates(con));
+                ps.setArray(2, deletes.speciesIds(con));
+            });
+        }
+        if (!updates.isEmpty()) {
+            jdbc.update(UPDATE_SQL, ps -> {
+                Connection con = ps.getConnection();
+                ps.setArray(1, updates.dates(con));
+                ps.setArray(2, updates.speciesIds(con));
+                ps.setArray(3, updates.counts(con));
+            });
+        }
+        if (!inserts.isEmpty()) {
+            jdbc.update(INSERT_SQL, ps -> {
+                Connection con = ps.getConnection();
+                ps.setArray(1, inserts.dates(con));
+                ps.setArray(2, inserts.speciesIds(con));
+                ps.setArray(3, inserts.counts(con));
+            });
+        }
+        return new ObservationDiff(inserts.size(), updates.size(), deletes.size());
+    }
+
+    // one row per species (PK is report_date+species_id); a species listed twice on a day is summed
+    private static Map<String, Integer> collapse(List<ParsedObservation> observations) {
+        Map<String, Integer> out = new HashMap<>();
+        for (ParsedObservation o : observations) {
+            out.merge(o.speciesId(), o.individuals(), Integer::sum);
+        }
+        return out;
+    }
+
+    /** Column-wise buffers for one unnest(...) statement. */
+    private static final class Rows {
+        private final List<Date> dates = new ArrayList<>();
+        private final List<String> speciesIds = new ArrayList<>();
+        private final List<Integer> counts = new ArrayList<>();
+
+        void add(LocalDate date, String speciesId, int count) {
+            dates.add(Date.valueOf(date));
+            speciesIds.add(speciesId);
+            counts.add(count);
+        }
+
+        boolean isEmpty() {
+            return dates.isEmpty();
+        }
+
+        int size() {
+            return dates.size();
+        }
+
+        java.sql.Array dates(Connection con) throws SQLException {
+            return con.createArrayOf("date", dates.toArray());
+        }
+
+        java.sql.Array speciesIds(Connection con) throws SQLException {
+            return con.createArrayOf("text", speciesIds.toArray());
+        }
+
+        java.sql.Array counts(Connection con) throws SQLException {
+            return con.createArrayOf("int4", counts.toArray());
+        }
     }
 }
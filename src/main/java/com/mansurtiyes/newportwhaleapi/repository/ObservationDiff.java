@@ -0,0 +1,15 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+/** Rows actually written by a diffing observation replace. */
+public record ObservationDiff(int inserted, int updated, int deleted) {
+
+    public static final ObservationDiff NONE = new ObservationDiff(0, 0, 0);
+
+    public ObservationDiff plus(ObservationDiff other) {
+        return new ObservationDiff(inserted + other.inserted, updated + other.updated, deleted + other.deleted);
+    }
+
+    public int total() {
+        return inserted + updated + deleted;
+    }
+}
@@ -0,0 +1,21 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+
+import java.time.OffsetDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Bulk-load path for historical backfills (PostgreSQL only).
+ */
+public interface ReportCopyLoader {
+
+    /**
+     * Streams the reports and their observations into a session staging table with COPY, then merges
+     * them into daily_report/observation in one statement. The stream is consumed lazily and rows are
+     * flushed to the server in fixed-size chunks, so heap use does not grow with the number of rows.
+     * Same checksum semantics as ingest: a day is only rewritten when its checksum differs.
+     * Each report date may appear at most once in the stream.
+     */
+    CopyLoadResult copyLoad(Stream<ParsedReport> reports, OffsetDateTime fetchedAt);
+}
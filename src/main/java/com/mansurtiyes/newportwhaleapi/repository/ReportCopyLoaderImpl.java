@@ -0,0 +1,202 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
+import jakarta.transaction.Transactional;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Repository
+class ReportCopyLoaderImpl implements ReportCopyLoader {
+
+    // chars buffered before a chunk is sent to the server
+    private static final int FLUSH_CHARS = 64 * 1024;
+
+    // One staging table for both kinds of row so the input is read in a single pass:
+    // a report row has species_id NULL, an observation row carries its report_date + species.
+    private static final String CREATE_STAGE_SQL = """
+        CREATE TEMP TABLE ingest_stage (
+            report_date date NOT NULL,
+            tours       int,
+            status      text,
+            source_url  text,
+            checksum    uuid,
+            species_id  text,
+            individuals int
+        ) ON COMMIT DROP
+        """;
+
+    private static final String COPY_SQL = """
+        COPY ingest_stage (report_date, tours, status, source_url, checksum, species_id, individuals)
+        FROM STDIN
+        """;
+
+    // Upsert the days whose checksum changed, then reconcile only those days' observations:
+    // prune species that disappeared (or all of them on bad weather), upsert the rest.
+    // Observations are already one row per (date, species) when staged, so no aggregation is needed here.
+    private static final String MERGE_SQL = """
+        WITH upserted AS (
+            INSERT INTO daily_report (report_date, tours, status, fetched_at, source_url, checksum)
+            SELECT report_date, tours, CAST(status AS report_status), ?, source_url, checksum
+            FROM ingest_stage
+            WHERE species_id IS NULL
+            ON CONFLICT (report_date) DO UPDATE SET
+                tours      = EXCLUDED.tours,
+                status     = EXCLUDED.status,
+                fetched_at = EXCLUDED.fetched_at,
+                source_url = EXCLUDED.source_url,
+                checksum   = EXCLUDED.checksum,
+                version    = daily_report.version + 1,
+                updated_at = now()
+            WHERE daily_report.checksum IS DISTINCT FROM EXCLUDED.checksum
+            RETURNING report_date, status
+        ), pruned AS (
+            DELETE FROM observation o
+            USING upserted u
+            WHERE o.report_date = u.report_date
+              AND (u.status = 'bad_weather'
+                   OR NOT EXISTS (SELECT 1 FROM ingest_stage s
+                                  WHERE s.report_date = o.report_date
+                                    AND s.species_id  = o.species_id))
+            RETURNING 1
+        ), written AS (
+            INSERT INTO observation (report_date, species_id, individuals)
+            SELECT s.report_date, s.species_id, s.individuals
+            FROM ingest_stage s
+            JOIN upserted u ON u.report_date = s.report_date AND u.status <> 'bad_weather'
+            WHERE s.species_id IS NOT NULL
+            ON CONFLICT (report_date, species_id) DO UPDATE SET
+                individuals = EXCLUDED.individuals
+            WHERE observation.individuals IS DISTINCT FROM EXCLUDED.individuals
+            RETURNING 1
+        )
+        SELECT (SELECT count(*) FROM upserted) AS reports_written,
+               (SELECT count(*) FROM written)  AS observations_written,
+               (SELECT count(*) FROM pruned)   AS observations_deleted
+        """;
+
+    private final JdbcTemplate jdbc;
+
+    ReportCopyLoaderImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Transactional
+    @Override
+    public CopyLoadResult copyLoad(Stream<ParsedReport> reports, OffsetDateTime fetchedAt) {
+        Objects.requireNonNull(reports, "reports");
+        Objects.requireNonNull(fetchedAt, "fetchedAt");
+
+        return jdbc.execute((ConnectionCallback<CopyLoadResult>) con -> {
+            try (Statement st = con.createStatement()) {
+                st.execute(CREATE_STAGE_SQL);
+            }
+
+            long[] staged = stage(con, reports.iterator());
+
+            try (Statement st = con.createStatement()) {
+                // temp tables are never auto-analyzed; give the merge real row counts
+                st.execute("ANALYZE ingest_stage");
+            }
+
+            CopyLoadResult result;
+            try (PreparedStatement ps = con.prepareStatement(MERGE_SQL)) {
+                ps.setObject(1, fetchedAt);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    result = new CopyLoadResult(staged[0], staged[1],
+                            rs.getInt("reports_written"), rs.getInt("observations_written"), rs.getInt("observations_deleted"));
+                }
+            }
+
+            try (Statement st = con.createStatement()) {
+                st.execute("DROP TABLE ingest_stage"); // allow another load in the same transaction
+            }
+            return result;
+        });
+    }
+
+    /** @return {report rows, observation rows} sent through COPY */
+    private static long[] stage(Connection con, Iterator<ParsedReport> reports) throws SQLException {
+        CopyIn copy = con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        long reportRows = 0;
+        long observationRows = 0;
+        try {
+            StringBuilder buf = new StringBuilder(FLUSH_CHARS + 1024);
+            while (reports.hasNext()) {
+                ParsedReport r = reports.next();
+                String date = r.getDate().toString();
+
+                buf.append(date).append('\t')
+                        .append(r.getTours()).append('\t')
+                        .append(r.getStatus().name()).append('\t');
+                appendEscaped(buf, r.getSourceUrl());
+                buf.append('\t').append(r.getChecksum()).append("\t\\N\t\\N\n");
+                reportRows++;
+
+                if (r.getStatus() != ReportStatus.bad_weather) {
+                    // one row per species (observation PK); a species listed twice on a day is summed
+                    Map<String, Integer> perSpecies = new LinkedHashMap<>();
+                    for (ParsedObservation o : r.getObservations()) {
+                        perSpecies.merge(o.speciesId(), o.individuals(), Integer::sum);
+                    }
+                    for (Map.Entry<String, Integer> o : perSpecies.entrySet()) {
+                        buf.append(date).append("\t\\N\t\\N\t\\N\t\\N\t");
+                        appendEscaped(buf, o.getKey());
+                        buf.append('\t').append(o.getValue()).append('\n');
+                        observationRows++;
+                    }
+                }
+
+                if (buf.length() >= FLUSH_CHARS) flush(copy, buf);
+            }
+            flush(copy, buf);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) copy.cancelCopy();
+        }
+        return new long[]{reportRows, observationRows};
+    }
+
+    private static void flush(CopyIn copy, StringBuilder buf) throws SQLException {
+        if (buf.isEmpty()) return;
+        byte[] bytes = buf.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buf.setLength(0);
+    }
+
+    // COPY text format: backslash, tab and line breaks must be escaped; null becomes \N
+    private static void appendEscaped(StringBuilder buf, String value) {
+        if (value == null) {
+            buf.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buf.append("\\\\");
+                case '\t' -> buf.append("\\t");
+                case '\n' -> buf.append("\\n");
+                case '\r' -> buf.append("\\r");
+                default -> buf.append(c);
+            }
+        }
+    }
+}
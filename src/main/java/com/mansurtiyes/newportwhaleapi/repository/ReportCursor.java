@@ -0,0 +1,43 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import com.mansurtiyes.newportwhaleapi.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset cursor for report pages: the sort it was issued for plus the sort-key values of the last row
+ * returned, e.g. {@code "tours:desc,date:desc|14|2025-08-12"}, base64url-encoded. Clients only pass it back.
+ * <p>
+ * The sort is part of the cursor so a cursor replayed against a different sort is rejected instead of seeking
+ * to a meaningless position.
+ */
+record ReportCursor(String sort, List<String> values) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    String encode() {
+        String raw = sort + "|" + String.join("|", values);
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws InvalidCursorException when the cursor is not one this API issued
+     */
+    static ReportCursor decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor.");
+        }
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length < 2 || parts[0].isEmpty()) {
+            throw new InvalidCursorException("Invalid cursor.");
+        }
+        return new ReportCursor(parts[0], Arrays.asList(parts).subList(1, parts.length));
+    }
+}
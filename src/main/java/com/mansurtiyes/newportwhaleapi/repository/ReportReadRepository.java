@@ -1,11 +1,16 @@
 package com.mansurtiyes.newportwhaleapi.repository;
 
+import com.mansurtiyes.newportwhaleapi.dto.CountMode;
+import com.mansurtiyes.newportwhaleapi.dto.CursorPage;
 import com.mansurtiyes.newportwhaleapi.dto.report.ReportDTO;
+import com.mansurtiyes.newportwhaleapi.exception.InvalidCursorException;
 import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
 import com.mansurtiyes.newportwhaleapi.model.SightingGroup;
 import jakarta.annotation.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -23,5 +28,40 @@ public interface ReportReadRepository {
             Pageable pageable
     );
 
+    /**
+     * Same page, with the total per {@code count}: {@link CountMode#exact} is {@link #findReports} above,
+     * {@link CountMode#estimate} a Page whose total comes from the planner, {@link CountMode#none} a Slice
+     * (LIMIT size+1, no count query).
+     */
+    Slice<ReportDTO> findReports(
+            @Nullable LocalDate start,
+            @Nullable LocalDate end,
+            @Nullable String speciesId,
+            @Nullable SightingGroup group,
+            @Nullable Boolean hasSightings,
+            @Nullable ReportStatus status,
+            Pageable pageable,
+            CountMode count
+    );
+
+    /**
+     * Keyset page: the {@code size} rows that follow {@code cursor} (from the start when null) in {@code sort}
+     * order, with report_date as the tiebreaker. Seeks instead of counting and skipping, so every page costs
+     * about the same as the first.
+     *
+     * @throws InvalidCursorException when the cursor is malformed or was issued for a different sort
+     */
+    CursorPage<ReportDTO> findReportsAfter(
+            @Nullable LocalDate start,
+            @Nullable LocalDate end,
+            @Nullable String speciesId,
+            @Nullable SightingGroup group,
+            @Nullable Boolean hasSightings,
+            @Nullable ReportStatus status,
+            Sort sort,
+            @Nullable String cursor,
+            int size
+    );
+
     Optional<ReportDTO> findByDate(LocalDate date);
 }
@@ -1,13 +1,17 @@
 package com.mansurtiyes.newportwhaleapi.repository;
 
+import com.mansurtiyes.newportwhaleapi.dto.CountMode;
+import com.mansurtiyes.newportwhaleapi.dto.CursorPage;
 import com.mansurtiyes.newportwhaleapi.dto.report.ObservationDto;
 import com.mansurtiyes.newportwhaleapi.dto.report.ReportDTO;
+import com.mansurtiyes.newportwhaleapi.exception.InvalidCursorException;
 import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
 import com.mansurtiyes.newportwhaleapi.model.SightingGroup;
 import jakarta.annotation.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -18,6 +22,7 @@ import java.sql.Types;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Repository
@@ -41,13 +46,33 @@ public class ReportReadRepositoryImpl implements ReportReadRepository {
         FROM daily_report d
         """;
 
-    private static final String OBS_FOR_DATES = """
-        SELECT o.report_date, o.species_id, o.individuals
-        FROM observation o
-        WHERE o.report_date IN (:dates)
-        ORDER BY o.report_date ASC, o.species_id ASC
+    // Page query plus the filtered total, counted by the window before LIMIT applies
+    private static final String BASE_PAGE_WITH_TOTAL = """
+        SELECT d.report_date, d.tours, d.status, d.source_url, d.fetched_at, COUNT(*) OVER () AS total
+        FROM daily_report d
+        """;
+
+    // Wraps a page query (aliased d again, so ORDER BY d.* still applies) and attaches each day's observations
+    // as two parallel arrays in species order; evaluated only for the rows that survive LIMIT
+    private static final String OBS_LATERAL = """
+        LEFT JOIN LATERAL (
+            SELECT array_agg(o.species_id  ORDER BY o.species_id) AS species_ids,
+                   array_agg(o.individuals ORDER BY o.species_id) AS individuals
+            FROM observation o
+            WHERE o.report_date = d.report_date
+        ) obs ON true
         """;
 
+    private static final String ONE_DAY = withObservations(BASE_PAGE + " WHERE d.report_date = :date", "");
+
+    private static final DayRowMapper DAY_ROWS = new DayRowMapper();
+
+    // SQL text per (query, filter shape, order). Only the predicates a request uses are emitted, so each shape plans
+    // against its own indexes, and a repeated shape reuses both the string and PgJDBC's server-side statement.
+    private static final Map<SqlKey, String> SQL_BY_SHAPE = new ConcurrentHashMap<>();
+
+    private record SqlKey(String query, FilterShape shape, String orderBy) {}
+
     @Override
     public Page<ReportDTO> findReports(@Nullable LocalDate start,
                                        @Nullable LocalDate end,
@@ -58,110 +83,124 @@ public class ReportReadRepositoryImpl implements ReportReadRepository {
                                        Pageable pageable) {
 
         MapSqlParameterSource params = new MapSqlParameterSource();
-        List<String> where = new ArrayList<>();
-
-        // Window
-        params.addValue("start", start, Types.DATE);
-        params.addValue("end", end, Types.DATE);
-        where.add("(:start IS NULL OR d.report_date >= :start)");
-        where.add("(:end   IS NULL OR d.report_date <= :end)");
-
-        // Status
-        params.addValue("status", status != null ? status.name() : null, Types.VARCHAR);
-        where.add("(:status IS NULL OR d.status = CAST(:status AS report_status))");
+        FilterShape shape = filters(params, start, end, speciesId, group, hasSightings, status);
 
-        // Species filter (EXISTS)
-        params.addValue("speciesId", speciesId, Types.VARCHAR);
-        if (speciesId != null && !speciesId.isBlank()) {
-            where.add("""
-                EXISTS (
-                   SELECT 1 FROM observation o
-                   WHERE o.report_date = d.report_date
-                     AND o.species_id = :speciesId
-                )
-                """);
-        }
+        params.addValue("limit", pageable.getPageSize());
+        params.addValue("offset", pageable.getOffset());
 
-        // Group + hasSightings logic (mutually exclusive with speciesId at service layer; repo supports both anyway)
-        String existsGroup = """
-            EXISTS (
-               SELECT 1
-               FROM observation o
-               JOIN species s ON s.id = o.species_id
-               WHERE o.report_date = d.report_date
-                 AND (:group IS NULL OR s."group" = CAST(:group AS sighting_group))
-            )
-            """;
-        String existsAny = """
-            EXISTS (
-               SELECT 1
-               FROM observation o
-               WHERE o.report_date = d.report_date
-            )
-            """;
+        // One statement: page rows, their observations and the total
+        String pageSql = pageSql(shape, pageable.getSort());
 
-        params.addValue("group", group != null ? group.name().toLowerCase(Locale.ROOT) : null, Types.VARCHAR);
+        long[] total = {0};
+        List<ReportDTO> pageRows = jdbc.query(pageSql, params, (rs, n) -> {
+            if (n == 0) total[0] = rs.getLong("total");
+            return DAY_ROWS.mapRow(rs, n);
+        });
 
-        if (group != null) {
-            if (hasSightings == null || hasSightings) {
-                where.add(existsGroup);
-            } else {
-                where.add("NOT " + existsGroup);
-            }
-        } else if (hasSightings != null) {
-            if (hasSightings) {
-                where.add(existsAny);
-            } else {
-                where.add("NOT " + existsAny);
+        if (pageRows.isEmpty()) {
+            if (pageable.getOffset() == 0) {
+                return Page.empty(pageable);
             }
+            // Past the last page there is no row to carry the window count
+            String countSql = SQL_BY_SHAPE.computeIfAbsent(new SqlKey("count", shape, ""),
+                    k -> BASE_COUNT + shape.where());
+            long count = jdbc.queryForObject(countSql, params, Long.class);
+            return new PageImpl<>(List.of(), pageable, count);
         }
 
-        String whereSql = where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where);
+        return new PageImpl<>(pageRows, pageable, total[0]);
+    }
 
-        // Count
-        long total = jdbc.queryForObject(BASE_COUNT + whereSql, params, Long.class);
-        if (total == 0) {
-            return Page.empty(pageable);
+    @Override
+    public Slice<ReportDTO> findReports(@Nullable LocalDate start,
+                                        @Nullable LocalDate end,
+                                        @Nullable String speciesId,
+                                        @Nullable SightingGroup group,
+                                        @Nullable Boolean hasSightings,
+                                        @Nullable ReportStatus status,
+                                        Pageable pageable,
+                                        CountMode count) {
+        if (count == CountMode.exact) {
+            return findReports(start, end, speciesId, group, hasSightings, status, pageable);
         }
 
-        // Order + paging; default by date asc if no explicit sort
-        String orderBy = buildOrderBy(pageable.getSort());
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        FilterShape shape = filters(params, start, end, speciesId, group, hasSightings, status);
 
-        params.addValue("limit", pageable.getPageSize());
-        params.addValue("offset", (long) pageable.getPageNumber() * pageable.getPageSize());
+        // No COUNT(*): fetch one extra row to learn whether another page follows
+        String orderBy = buildOrderBy(pageable.getSort());
+        params.addValue("limit", pageable.getPageSize() + 1);
+        params.addValue("offset", pageable.getOffset());
+        String pageSql = SQL_BY_SHAPE.computeIfAbsent(new SqlKey("slice", shape, orderBy), k -> withObservations(
+                BASE_PAGE + shape.where() + " " + orderBy + " LIMIT :limit OFFSET :offset", orderBy));
+
+        List<ReportDTO> rows = jdbc.query(pageSql, params, DAY_ROWS);
+        if (count == CountMode.none) {
+            return RowEstimates.slice(rows, pageable);
+        }
 
-        String pageSql = BASE_PAGE + whereSql + " " + orderBy + " LIMIT :limit OFFSET :offset";
+        // Plan only when more rows follow; the last page knows its total already
+        long estimate = rows.size() > pageable.getPageSize()
+                ? RowEstimates.estimate(jdbc,
+                        SQL_BY_SHAPE.computeIfAbsent(new SqlKey("estimate", shape, ""), k -> BASE_PAGE + shape.where()),
+                        params)
+                : 0;
+        return RowEstimates.estimatedPage(rows, pageable, estimate);
+    }
 
-        List<ReportDTO> pageRows = jdbc.query(pageSql, params, new DayRowMapper());
+    @Override
+    public CursorPage<ReportDTO> findReportsAfter(@Nullable LocalDate start,
+                                                 @Nullable LocalDate end,
+                                                 @Nullable String speciesId,
+                                                 @Nullable SightingGroup group,
+                                                 @Nullable Boolean hasSightings,
+                                                 @Nullable ReportStatus status,
+                                                 Sort sort,
+                                                 @Nullable String cursor,
+                                                 int size) {
 
-        if (pageRows.isEmpty()) {
-            return new PageImpl<>(List.of(), pageable, total);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        FilterShape shape = filters(params, start, end, speciesId, group, hasSightings, status);
+
+        // Seek past the last row of the previous page instead of counting and skipping rows
+        List<SortKey> keys = keysetOrder(sort);
+        String sortSpec = keys.stream().map(SortKey::spec).collect(Collectors.joining(","));
+        boolean seek = cursor != null && !cursor.isBlank();
+        if (seek) {
+            ReportCursor after = ReportCursor.decode(cursor);
+            if (!after.sort().equals(sortSpec) || after.values().size() != keys.size()) {
+                throw new InvalidCursorException("Cursor does not match the requested sort.");
+            }
+            try {
+                for (int i = 0; i < keys.size(); i++) {
+                    keys.get(i).key().bind(params, "k" + i, after.values().get(i));
+                }
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException("Invalid cursor.");
+            }
         }
 
-        // Fetch observations for all page dates in one go
-        List<LocalDate> dates = pageRows.stream().map(ReportDTO::getDate).toList();
-        MapSqlParameterSource obsParams = new MapSqlParameterSource().addValue("dates", dates);
-
-        List<ObsRow> obsRows = jdbc.query(OBS_FOR_DATES, obsParams, (rs, n) ->
-                new ObsRow(
-                        rs.getObject("report_date", LocalDate.class),
-                        rs.getString("species_id"),
-                        rs.getInt("individuals"))
-        );
-
-        Map<LocalDate, List<ObservationDto>> grouped = obsRows.stream()
-                .collect(Collectors.groupingBy(
-                        o -> o.date,
-                        Collectors.mapping(o -> new ObservationDto(o.speciesId, o.individuals), Collectors.toList())
-                ));
-
-        // Attach observations
-        for (ReportDTO r : pageRows) {
-            List<ObservationDto> list = grouped.getOrDefault(r.getDate(), List.of());
-            r.setObservations(list);
+        String orderBy = keys.stream().map(SortKey::orderBy).collect(Collectors.joining(", ", "ORDER BY ", ""));
+        params.addValue("limit", size + 1);   // one extra row tells whether another page follows
+        String pageSql = SQL_BY_SHAPE.computeIfAbsent(new SqlKey(seek ? "seek" : "first", shape, orderBy), k -> {
+            List<String> where = shape.predicates();
+            if (seek) {
+                where.add(seekPredicate(keys));
+            }
+            return withObservations(BASE_PAGE + (where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where))
+                    + " " + orderBy + " LIMIT :limit", orderBy);
+        });
+
+        List<ReportDTO> rows = jdbc.query(pageSql, params, DAY_ROWS);
+        boolean hasNext = rows.size() > size;
+        List<ReportDTO> pageRows = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ReportDTO last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new ReportCursor(sortSpec, keys.stream().map(k -> k.key().format(last)).toList()).encode();
         }
-
-        return new PageImpl<>(pageRows, pageable, total);
+        return new CursorPage<>(pageRows, size, hasNext, nextCursor);
     }
 
     @Override
@@ -169,31 +208,112 @@ public class ReportReadRepositoryImpl implements ReportReadRepository {
         MapSqlParameterSource params = new MapSqlParameterSource()
                 .addValue("date", Objects.requireNonNull(date), Types.DATE);
 
-        String oneDaySql = BASE_PAGE + " WHERE d.report_date = :date";
+        List<ReportDTO> rows = jdbc.query(ONE_DAY, params, DAY_ROWS);
+        return rows.stream().findFirst();
+    }
+
+
+    // --- helpers ---
+
+    /**
+     * Binds the filters a request actually uses and returns their shape; absent filters add neither a parameter
+     * nor a predicate. Shared by offset and keyset pages.
+     */
+    static FilterShape filters(MapSqlParameterSource params,
+                               @Nullable LocalDate start,
+                               @Nullable LocalDate end,
+                               @Nullable String speciesId,
+                               @Nullable SightingGroup group,
+                               @Nullable Boolean hasSightings,
+                               @Nullable ReportStatus status) {
+        // Window
+        if (start != null) params.addValue("start", start, Types.DATE);
+        if (end != null) params.addValue("end", end, Types.DATE);
+
+        // Status
+        if (status != null) params.addValue("status", status.name(), Types.VARCHAR);
+
+        // Species filter (EXISTS)
+        boolean species = speciesId != null && !speciesId.isBlank();
+        if (species) params.addValue("speciesId", speciesId, Types.VARCHAR);
 
-        List<ReportDTO> rows = jdbc.query(oneDaySql, params, new DayRowMapper());
-        if (rows.isEmpty()) {
-            return Optional.empty();
+        // Group + hasSightings logic (mutually exclusive with speciesId at service layer; repo supports both anyway)
+        Boolean groupPresent = null;
+        Boolean anyPresent = null;
+        if (group != null) {
+            params.addValue("group", group.name().toLowerCase(Locale.ROOT), Types.VARCHAR);
+            groupPresent = hasSightings == null || hasSightings;
+        } else {
+            anyPresent = hasSightings;
         }
-        ReportDTO dto = rows.get(0);
-
-        // Observations for one date
-        MapSqlParameterSource obsParams = new MapSqlParameterSource().addValue("dates", List.of(date));
-        List<ObsRow> obsRows = jdbc.query(OBS_FOR_DATES, obsParams, (rs, n) ->
-                new ObsRow(
-                        rs.getObject("report_date", LocalDate.class),
-                        rs.getString("species_id"),
-                        rs.getInt("individuals"))
-        );
-        List<ObservationDto> items = obsRows.stream()
-                .map(o -> new ObservationDto(o.speciesId, o.individuals))
-                .toList();
-        dto.setObservations(items);
-        return Optional.of(dto);
+
+        return new FilterShape(start != null, end != null, status != null, species, groupPresent, anyPresent);
     }
 
+    /** Exact-page SQL (page rows, window total, observations) for one filter shape and sort; cached per shape. */
+    static String pageSql(FilterShape shape, Sort sort) {
+        String orderBy = buildOrderBy(sort);
+        return SQL_BY_SHAPE.computeIfAbsent(new SqlKey("page", shape, orderBy), k -> withObservations(
+                BASE_PAGE_WITH_TOTAL + shape.where() + " " + orderBy + " LIMIT :limit OFFSET :offset", orderBy));
+    }
 
-    // --- helpers ---
+    /**
+     * Which report filters a request uses. {@code groupPresent}: null without a group filter, else whether days must
+     * have (true) or lack (false) that group; {@code anyPresent}: the same for any sighting when no group is given.
+     */
+    record FilterShape(boolean start,
+                       boolean end,
+                       boolean status,
+                       boolean species,
+                       @Nullable Boolean groupPresent,
+                       @Nullable Boolean anyPresent) {
+
+        private static final String EXISTS_SPECIES = """
+            EXISTS (
+               SELECT 1 FROM observation o
+               WHERE o.report_date = d.report_date
+                 AND o.species_id = :speciesId
+            )
+            """;
+
+        private static final String EXISTS_GROUP = """
+            EXISTS (
+               SELECT 1
+               FROM observation o
+               JOIN species s ON s.id = o.species_id
+               WHERE o.report_date = d.report_date
+                 AND s."group" = CAST(:group AS sighting_group)
+            )
+            """;
+
+        private static final String EXISTS_ANY = """
+            EXISTS (
+               SELECT 1
+               FROM observation o
+               WHERE o.report_date = d.report_date
+            )
+            """;
+
+        /** Only the predicates this shape uses, in a fresh mutable list. */
+        List<String> predicates() {
+            List<String> where = new ArrayList<>();
+            if (start) where.add("d.report_date >= :start");
+            if (end) where.add("d.report_date <= :end");
+            if (status) where.add("d.status = CAST(:status AS report_status)");
+            if (species) where.add(EXISTS_SPECIES);
+            if (groupPresent != null) {
+                where.add(groupPresent ? EXISTS_GROUP : "NOT " + EXISTS_GROUP);
+            } else if (anyPresent != null) {
+                where.add(anyPresent ? EXISTS_ANY : "NOT " + EXISTS_ANY);
+            }
+            return where;
+        }
+
+        String where() {
+            List<String> where = predicates();
+            return where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where);
+        }
+    }
 
     private static class DayRowMapper implements RowMapper<ReportDTO> {
         @Override
@@ -219,40 +339,154 @@ public class ReportReadRepositoryImpl implements ReportReadRepository {
             dto.setStatus(status);
             dto.setSourceUrl(sourceUrl);
             dto.setFetchedAt(fetchedAt);
-            dto.setObservations(List.of()); // will be filled later
+            dto.setObservations(observations(rs));
             return dto;
         }
+
+        // species_ids / individuals from OBS_LATERAL; both null on a day without sightings
+        private static List<ObservationDto> observations(java.sql.ResultSet rs) throws java.sql.SQLException {
+            java.sql.Array ids = rs.getArray("species_ids");
+            if (ids == null) {
+                return List.of();
+            }
+            String[] speciesIds = (String[]) ids.getArray();
+            Integer[] individuals = (Integer[]) rs.getArray("individuals").getArray();
+            ObservationDto[] items = new ObservationDto[speciesIds.length];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = new ObservationDto(speciesIds[i], individuals[i]);
+            }
+            return List.of(items);
+        }
     }
 
-    private record ObsRow(LocalDate date, String speciesId, int individuals) {}
+    private static String withObservations(String pageSql, String orderBy) {
+        return "SELECT d.*, obs.species_ids, obs.individuals FROM (" + pageSql + ") d " + OBS_LATERAL + orderBy;
+    }
 
     /**
      * Builds ORDER BY based on pageable sort, whitelisting sortable columns to avoid SQL injection.
      * Supported: date -> d.report_date, tours -> d.tours, status -> d.status, fetchedAt -> d.fetched_at
+     * Goes through {@link #sortKeys}, so the ORDER BY (and with it the {@link #SQL_BY_SHAPE} key) is one of a
+     * finite set however the request repeats its sort params.
      * Default: ORDER BY d.report_date ASC
      */
-    private String buildOrderBy(Sort sort) {
-        if (sort == null || sort.isUnsorted()) {
+    private static String buildOrderBy(Sort sort) {
+        List<SortKey> keys = sortKeys(sort);
+        if (keys.isEmpty()) {
             return "ORDER BY d.report_date ASC";
         }
-        List<String> parts = new ArrayList<>();
-        for (Sort.Order order : sort) {
-            String col = switch (order.getProperty()) {
-                case "date" -> "d.report_date";
-                case "tours" -> "d.tours";
-                case "status" -> "d.status";
-                case "fetchedAt" -> "d.fetched_at";
-                default -> null;
-            };
-            if (col != null) {
-                parts.add(col + (order.isAscending() ? " ASC" : " DESC"));
+        return "ORDER BY " + String.join(", ", keys.stream().map(SortKey::orderBy).toList());
+    }
+
+    /** Whitelisted sort keys: API property, column, how a cursor stores and binds its value. */
+    private enum Key {
+        DATE("date", "d.report_date", ":%s") {
+            String format(ReportDTO r) { return r.getDate().toString(); }
+            void bind(MapSqlParameterSource p, String name, String v) { p.addValue(name, LocalDate.parse(v), Types.DATE); }
+        },
+        TOURS("tours", "d.tours", ":%s") {
+            String format(ReportDTO r) { return Integer.toString(r.getTours()); }
+            void bind(MapSqlParameterSource p, String name, String v) { p.addValue(name, Integer.parseInt(v), Types.INTEGER); }
+        },
+        STATUS("status", "d.status", "CAST(:%s AS report_status)") {
+            String format(ReportDTO r) { return r.getStatus().name(); }
+            void bind(MapSqlParameterSource p, String name, String v) { p.addValue(name, ReportStatus.valueOf(v).name(), Types.VARCHAR); }
+        },
+        FETCHED_AT("fetchedAt", "d.fetched_at", ":%s") {
+            String format(ReportDTO r) { return r.getFetchedAt().toString(); }
+            void bind(MapSqlParameterSource p, String name, String v) {
+                p.addValue(name, OffsetDateTime.parse(v), Types.TIMESTAMP_WITH_TIMEZONE);
             }
+        };
+
+        final String property;
+        final String column;
+        final String param;
+
+        Key(String property, String column, String param) {
+            this.property = property;
+            this.column = column;
+            this.param = param;
         }
-        if (parts.isEmpty()) {
-            return "ORDER BY d.report_date ASC";
+
+        abstract String format(ReportDTO r);
+
+        /** @throws RuntimeException when the value did not come from {@link #format} */
+        abstract void bind(MapSqlParameterSource p, String name, String value);
+
+        static @Nullable Key of(String property) {
+            for (Key k : values()) {
+                if (k.property.equals(property)) return k;
+            }
+            return null;
         }
-        return "ORDER BY " + String.join(", ", parts);
     }
-}
 
+    private record SortKey(Key key, boolean asc) {
+        String spec() {
+            return key.property + (asc ? ":asc" : ":desc");
+        }
+
+        String orderBy() {
+            return key.column + (asc ? " ASC" : " DESC");
+        }
+    }
 
+    /** The whitelisted keys of {@code sort} in order; a repeated property keeps its first direction. */
+    private static List<SortKey> sortKeys(Sort sort) {
+        List<SortKey> keys = new ArrayList<>();
+        if (sort != null) {
+            for (Sort.Order order : sort) {
+                Key k = Key.of(order.getProperty());
+                if (k != null && keys.stream().noneMatch(sk -> sk.key() == k)) {
+                    keys.add(new SortKey(k, order.isAscending()));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Sort for keyset pages: the whitelisted keys of {@code sort} (default date ASC), then report_date as a unique
+     * tiebreaker in the first key's direction, so a single-key sort is one index scan either way.
+     */
+    private static List<SortKey> keysetOrder(Sort sort) {
+        List<SortKey> keys = sortKeys(sort);
+        if (keys.isEmpty()) {
+            keys.add(new SortKey(Key.DATE, true));
+        } else if (keys.stream().noneMatch(sk -> sk.key() == Key.DATE)) {
+            keys.add(new SortKey(Key.DATE, keys.get(0).asc()));
+        }
+        return keys;
+    }
+
+    /**
+     * Rows strictly after the cursor in {@code keys} order. One row comparison when every key runs the same
+     * way (Postgres turns it into an index range); otherwise the expanded form
+     * {@code a > :k0 OR (a = :k0 AND b < :k1) OR ...}.
+     */
+    private static String seekPredicate(List<SortKey> keys) {
+        boolean uniform = keys.stream().allMatch(k -> k.asc() == keys.get(0).asc());
+        if (uniform) {
+            List<String> cols = new ArrayList<>();
+            List<String> vals = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                cols.add(keys.get(i).key().column);
+                vals.add(keys.get(i).key().param.formatted("k" + i));
+            }
+            return "(" + String.join(", ", cols) + ") " + (keys.get(0).asc() ? ">" : "<")
+                    + " (" + String.join(", ", vals) + ")";
+        }
+        List<String> alternatives = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            List<String> terms = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                terms.add(keys.get(j).key().column + " = " + keys.get(j).key().param.formatted("k" + j));
+            }
+            SortKey k = keys.get(i);
+            terms.add(k.key().column + (k.asc() ? " > " : " < ") + k.key().param.formatted("k" + i));
+            alternatives.add("(" + String.join(" AND ", terms) + ")");
+        }
+        return "(" + String.join(" OR ", alternatives) + ")";
+    }
+}
@@ -0,0 +1,58 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Count-free paging helpers shared by the read repositories: planner row estimates in place of COUNT(*), and
+ * turning a LIMIT size+1 fetch into a Slice or an estimated Page.
+ */
+final class RowEstimates {
+
+    // first line of text EXPLAIN: "Seq Scan on daily_report d  (cost=0.00..1.23 rows=45 width=0)"
+    private static final Pattern PLAN_ROWS = Pattern.compile("\\brows=(\\d+)");
+
+    private RowEstimates() {
+    }
+
+    /**
+     * Planner estimate of how many rows {@code sql} returns: plans it with the bound parameters but does not run it.
+     * Only as good as the table statistics (ANALYZE / autovacuum).
+     */
+    static long estimate(NamedParameterJdbcTemplate jdbc, String sql, MapSqlParameterSource params) {
+        List<String> plan = jdbc.query("EXPLAIN " + sql, params, (rs, n) -> rs.getString(1));
+        if (plan.isEmpty()) {
+            return 0;
+        }
+        Matcher m = PLAN_ROWS.matcher(plan.get(0));
+        return m.find() ? Long.parseLong(m.group(1)) : 0;
+    }
+
+    /** {@code rows} came from LIMIT pageSize+1; the extra row only says another page follows. */
+    static <T> Slice<T> slice(List<T> rows, Pageable pageable) {
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, pageable.getPageSize())) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * Page with an estimated total, from a LIMIT pageSize+1 fetch. Exact on the last page; otherwise the estimate,
+     * raised to at least one row past this page so page metadata stays consistent with {@code hasNext}.
+     */
+    static <T> Page<T> estimatedPage(List<T> rows, Pageable pageable, long estimate) {
+        Slice<T> slice = slice(rows, pageable);
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        long total = slice.hasNext() ? Math.max(estimate, seen + 1) : seen;
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+}
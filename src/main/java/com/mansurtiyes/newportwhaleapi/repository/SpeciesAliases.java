@@ -0,0 +1,9 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import java.util.List;
+
+/** id + aliases projection of a species row; all the alias resolver needs. */
+public interface SpeciesAliases {
+    String getId();
+    List<String> getAliases();
+}
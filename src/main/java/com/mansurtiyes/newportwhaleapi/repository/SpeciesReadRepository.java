@@ -1,9 +1,11 @@
 package com.mansurtiyes.newportwhaleapi.repository;
 
+import com.mansurtiyes.newportwhaleapi.dto.CountMode;
 import com.mansurtiyes.newportwhaleapi.dto.SpeciesDTO;
 import com.mansurtiyes.newportwhaleapi.model.SightingGroup;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -16,6 +18,17 @@ public interface SpeciesReadRepository {
             Pageable pageable
     );
 
+    /**
+     * Same list with the total per {@code count}: exact as above, a planner estimate, or none (a Slice from
+     * LIMIT size+1 without the count query).
+     */
+    Slice<SpeciesDTO> findAllWithRollups(
+            SightingGroup group,
+            String search,
+            Pageable pageable,
+            CountMode count
+    );
+
     Optional<SpeciesDTO> findByIdWithRollups(
             String id,
             LocalDate start,
@@ -1,5 +1,6 @@
 package com.mansurtiyes.newportwhaleapi.repository;
 
+import com.mansurtiyes.newportwhaleapi.dto.CountMode;
 import com.mansurtiyes.newportwhaleapi.dto.SpeciesDTO;
 import com.mansurtiyes.newportwhaleapi.model.SightingGroup;
 import jakarta.annotation.Nullable;
@@ -7,6 +8,7 @@ import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -17,10 +19,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Repository
 public class SpeciesReadRepositoryImpl implements SpeciesReadRepository {
@@ -33,21 +38,7 @@ public class SpeciesReadRepositoryImpl implements SpeciesReadRepository {
 
     // ---------- SQL (list) ----------
 
-    private static final String WHERE_FILTER =
-            " WHERE (:group IS NULL OR s.\"group\" = CAST(:group AS sighting_group)) " +
-                    "   AND ( :q IS NULL " +
-                    "         OR s.id ILIKE :like " +
-                    "         OR s.common_name ILIKE :like " +
-                    "         OR s.binomial_name ILIKE :like " +
-                    "         OR EXISTS (SELECT 1 FROM unnest(s.aliases) a WHERE a ILIKE :like) " +
-                    "       ) ";
-
-    private static final String COUNT_SQL =
-            "SELECT COUNT(*) " +
-                    "FROM species s " +
-                    WHERE_FILTER;
-
-    private static final String PAGE_SQL =
+    private static final String SELECT_ROLLUPS =
             "SELECT " +
                     "  s.id, " +
                     "  s.\"group\", " +
@@ -58,56 +49,74 @@ public class SpeciesReadRepositoryImpl implements SpeciesReadRepository {
                     "  MAX(o.report_date)                AS last_seen, " +
                     "  COUNT(DISTINCT o.report_date)     AS total_reports, " +
                     "  COALESCE(SUM(o.individuals), 0)   AS total_individuals " +
-                    "FROM species s " +
-                    "LEFT JOIN observation o ON o.species_id = s.id " +
-                    WHERE_FILTER +
-                    "GROUP BY s.id, s.\"group\", s.common_name, s.binomial_name, s.aliases " +
-                    "ORDER BY MAX(o.report_date) DESC NULLS LAST, s.id ASC " +   // default sort
-                    "LIMIT :limit OFFSET :offset";
+                    "FROM species s ";
+
+    private static final String GROUP_BY =
+            "GROUP BY s.id, s.\"group\", s.common_name, s.binomial_name, s.aliases ";
+
+    private static final String GROUP_FILTER = "s.\"group\" = CAST(:group AS sighting_group)";
+
+    private static final String SEARCH_FILTER =
+            "(    s.id ILIKE :like " +
+                    "  OR s.common_name ILIKE :like " +
+                    "  OR s.binomial_name ILIKE :like " +
+                    "  OR EXISTS (SELECT 1 FROM unnest(s.aliases) a WHERE a ILIKE :like) " +
+                    ")";
+
+    // SQL text per query and filter shape: only the filters in use are emitted, so there is no
+    // (:param IS NULL OR ...) for the planner to keep, and each shape reuses one prepared statement
+    private static final Map<SqlKey, String> SQL_BY_SHAPE = new ConcurrentHashMap<>();
+
+    private record SqlKey(String query, boolean first, boolean second) {}
+
+    /** List SQL for a group/search shape: {@code COUNT(*)}, the planner-estimate probe, or the rollup page. */
+    static String listSql(String query, boolean group, boolean search) {
+        return SQL_BY_SHAPE.computeIfAbsent(new SqlKey(query, group, search), k -> {
+            List<String> where = new ArrayList<>();
+            if (group) where.add(GROUP_FILTER);
+            if (search) where.add(SEARCH_FILTER);
+            String whereSql = where.isEmpty() ? "" : "WHERE " + String.join(" AND ", where) + " ";
+            return switch (query) {
+                case "count" -> "SELECT COUNT(*) FROM species s " + whereSql;
+                case "estimate" -> "SELECT 1 FROM species s " + whereSql;
+                case "page" -> SELECT_ROLLUPS +
+                        "LEFT JOIN observation o ON o.species_id = s.id " +
+                        whereSql +
+                        GROUP_BY +
+                        "ORDER BY MAX(o.report_date) DESC NULLS LAST, s.id ASC " +   // default sort
+                        "LIMIT :limit OFFSET :offset";
+                default -> throw new IllegalArgumentException("Unknown species list query: " + query);
+            };
+        });
+    }
 
     // ---------- SQL (by id + range) ----------
 
-    private static final String BY_ID_SQL =
-            "SELECT " +
-                    "  s.id, " +
-                    "  s.\"group\", " +
-                    "  s.common_name, " +
-                    "  s.binomial_name, " +
-                    "  s.aliases, " +
-                    "  MIN(CASE WHEN (:start IS NULL OR o.report_date >= :start) " +
-                    "            AND (:end   IS NULL OR o.report_date <= :end) " +
-                    "            THEN o.report_date END)                        AS first_seen, " +
-                    "  MAX(CASE WHEN (:start IS NULL OR o.report_date >= :start) " +
-                    "            AND (:end   IS NULL OR o.report_date <= :end) " +
-                    "            THEN o.report_date END)                        AS last_seen, " +
-                    "  COUNT(DISTINCT CASE WHEN (:start IS NULL OR o.report_date >= :start) " +
-                    "                       AND (:end   IS NULL OR o.report_date <= :end) " +
-                    "                       THEN o.report_date END)             AS total_reports, " +
-                    "  COALESCE(SUM(CASE WHEN (:start IS NULL OR o.report_date >= :start) " +
-                    "                      AND (:end   IS NULL OR o.report_date <= :end) " +
-                    "                      THEN o.individuals ELSE 0 END), 0)   AS total_individuals " +
-                    "FROM species s " +
-                    "LEFT JOIN observation o ON o.species_id = s.id " +
-                    "WHERE s.id = :id " +
-                    "GROUP BY s.id, s.\"group\", s.common_name, s.binomial_name, s.aliases";
+    /**
+     * Rollups for one species. The window goes into the join condition, so the aggregates see only in-window
+     * observations (one range on ix_observation_species_date) instead of repeating the test in each CASE WHEN.
+     */
+    static String byIdSql(boolean start, boolean end) {
+        return SQL_BY_SHAPE.computeIfAbsent(new SqlKey("byId", start, end), k ->
+                SELECT_ROLLUPS +
+                        "LEFT JOIN observation o ON o.species_id = s.id " +
+                        (start ? "AND o.report_date >= :start " : "") +
+                        (end ? "AND o.report_date <= :end " : "") +
+                        "WHERE s.id = :id " +
+                        GROUP_BY);
+    }
 
     @Override
     public Page<SpeciesDTO> findAllWithRollups(@Nullable SightingGroup group,
                                                @Nullable String search,
                                                Pageable pageable) {
 
-        MapSqlParameterSource params = new MapSqlParameterSource();
-
-        // group param: pass lowercase string for CAST(:group AS sighting_group), or null
-        params.addValue("group", group != null ? group.name() : null, Types.VARCHAR);
-
-        // search param
-        String q = (search != null && !search.isBlank()) ? search.trim() : null;
-        params.addValue("q", q, Types.VARCHAR);
-        params.addValue("like", q != null ? "%" + q + "%" : null,  Types.VARCHAR);
+        MapSqlParameterSource params = filterParams(group, search);
+        boolean hasGroup = params.hasValue("group");
+        boolean hasSearch = params.hasValue("like");
 
         // count first for pagination (can't return null, can ignore warning)
-        long total = jdbc.queryForObject(COUNT_SQL, params, Long.class);
+        long total = jdbc.queryForObject(listSql("count", hasGroup, hasSearch), params, Long.class);
 
         if (total == 0) {
             return Page.empty(pageable);
@@ -117,28 +126,65 @@ public class SpeciesReadRepositoryImpl implements SpeciesReadRepository {
         params.addValue("limit", pageable.getPageSize());
         params.addValue("offset", (long) pageable.getPageNumber() * pageable.getPageSize());
 
-        List<SpeciesDTO> content = jdbc.query(PAGE_SQL, params, new SpeciesRowMapper());
+        List<SpeciesDTO> content = jdbc.query(listSql("page", hasGroup, hasSearch), params, new SpeciesRowMapper());
         return new PageImpl<>(content, pageable, total);
     }
 
+    @Override
+    public Slice<SpeciesDTO> findAllWithRollups(@Nullable SightingGroup group,
+                                                @Nullable String search,
+                                                Pageable pageable,
+                                                CountMode count) {
+        if (count == CountMode.exact) {
+            return findAllWithRollups(group, search, pageable);
+        }
+
+        MapSqlParameterSource params = filterParams(group, search);
+        boolean hasGroup = params.hasValue("group");
+        boolean hasSearch = params.hasValue("like");
+
+        // no COUNT(*): one extra row tells whether another page follows
+        params.addValue("limit", pageable.getPageSize() + 1);
+        params.addValue("offset", pageable.getOffset());
+
+        List<SpeciesDTO> rows = jdbc.query(listSql("page", hasGroup, hasSearch), params, new SpeciesRowMapper());
+        if (count == CountMode.none) {
+            return RowEstimates.slice(rows, pageable);
+        }
+        long estimate = rows.size() > pageable.getPageSize()
+                ? RowEstimates.estimate(jdbc, listSql("estimate", hasGroup, hasSearch), params)
+                : 0;
+        return RowEstimates.estimatedPage(rows, pageable, estimate);
+    }
+
     @Override
     public Optional<SpeciesDTO> findByIdWithRollups(String id,
                                                     @Nullable LocalDate start,
                                                     @Nullable LocalDate end) {
         MapSqlParameterSource params = new MapSqlParameterSource();
         params.addValue("id", Objects.requireNonNull(id, "id"));
-        params.addValue("start", start, Types.DATE);
-        params.addValue("end", end, Types.DATE);
+        if (start != null) params.addValue("start", start, Types.DATE);
+        if (end != null) params.addValue("end", end, Types.DATE);
 
         try {
-            SpeciesDTO dto = jdbc.queryForObject(BY_ID_SQL, params, new SpeciesRowMapper());
+            SpeciesDTO dto = jdbc.queryForObject(byIdSql(start != null, end != null), params, new SpeciesRowMapper());
             return Optional.ofNullable(dto);
         } catch (EmptyResultDataAccessException e) {
             return Optional.empty();
         }
     }
 
+    private static MapSqlParameterSource filterParams(@Nullable SightingGroup group, @Nullable String search) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        // group param: pass lowercase string for CAST(:group AS sighting_group); only bound when filtering
+        if (group != null) params.addValue("group", group.name(), Types.VARCHAR);
 
+        // search param
+        String q = (search != null && !search.isBlank()) ? search.trim() : null;
+        if (q != null) params.addValue("like", "%" + q + "%", Types.VARCHAR);
+        return params;
+    }
 
     /**
      * Maps the aggregate query rows into SpeciesDTO.
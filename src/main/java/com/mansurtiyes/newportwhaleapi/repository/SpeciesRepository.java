@@ -2,6 +2,7 @@ package com.mansurtiyes.newportwhaleapi.repository;
 
 import com.mansurtiyes.newportwhaleapi.model.Species;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +13,11 @@ public interface SpeciesRepository extends JpaRepository<Species, String> {
     @Override
     List<Species> findAll();
 
+    /** Just id and aliases, without hydrating (or dirty-tracking) Species entities. */
+    @Query("select s.id as id, s.aliases as aliases from Species s")
+    List<SpeciesAliases> findAllAliases();
+
+    /** Trigger-maintained counter, bumped on every species insert/delete and id/aliases update (V5). */
+    @Query(value = "SELECT version FROM catalog_version WHERE name = 'species'", nativeQuery = true)
+    long findCatalogVersion();
 }
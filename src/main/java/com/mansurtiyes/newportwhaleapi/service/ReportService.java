@@ -1,13 +1,16 @@
 package com.mansurtiyes.newportwhaleapi.service;
 
+import com.mansurtiyes.newportwhaleapi.dto.CountMode;
+import com.mansurtiyes.newportwhaleapi.dto.CursorPage;
 import com.mansurtiyes.newportwhaleapi.dto.report.ReportDTO;
 import com.mansurtiyes.newportwhaleapi.exception.NotFoundException;
 import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
 import com.mansurtiyes.newportwhaleapi.model.SightingGroup;
 import com.mansurtiyes.newportwhaleapi.repository.ReportReadRepository;
 import jakarta.annotation.Nullable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +21,9 @@ import java.util.Objects;
 @Transactional(readOnly = true)
 public class ReportService {
 
+    // same cap Spring Data applies to ?size on offset pages
+    private static final int MAX_PAGE_SIZE = 2000;
+
     private final ReportReadRepository reportReadRepository;
 
     public ReportService(ReportReadRepository reportReadRepository) {
@@ -30,37 +36,60 @@ public class ReportService {
      * Validations:
      * - speciesId and group cannot both be present
      * - if both start and end are provided, end must be on/after start
+     *
+     * The total follows {@code count}: exact (Page), estimate (Page with a planner estimate) or none (Slice).
      */
-    public Page<ReportDTO> getReports(@Nullable LocalDate start,
-                                      @Nullable LocalDate end,
-                                      @Nullable String speciesId,
-                                      @Nullable SightingGroup group,
-                                      @Nullable Boolean hasSightings,
-                                      @Nullable ReportStatus status,
-                                      Pageable pageable) {
+    public Slice<ReportDTO> getReports(@Nullable LocalDate start,
+                                       @Nullable LocalDate end,
+                                       @Nullable String speciesId,
+                                       @Nullable SightingGroup group,
+                                       @Nullable Boolean hasSightings,
+                                       @Nullable ReportStatus status,
+                                       Pageable pageable,
+                                       CountMode count) {
 
-        // 1) Mutually exclusive filters: speciesId vs group
-        final boolean hasSpecies = speciesId != null && !speciesId.isBlank();
-        if (hasSpecies && group != null) {
-            throw new IllegalArgumentException("Filters 'speciesId' and 'group' are mutually exclusive.");
-        }
+        final String normalizedSpecies = validateFilters(start, end, speciesId, group);
 
-        // 2) Date window validation
-        if (start != null && end != null && end.isBefore(start)) {
-            throw new IllegalArgumentException("End date must be on or after start date.");
-        }
+        return reportReadRepository.findReports(
+                start,
+                end,
+                normalizedSpecies,
+                group,
+                hasSightings,
+                status,
+                Objects.requireNonNull(pageable, "pageable"),
+                Objects.requireNonNull(count, "count")
+        );
+    }
 
-        // Optional: normalize speciesId
-        final String normalizedSpecies = hasSpecies ? speciesId.trim() : null;
+    /**
+     * Keyset variant of {@link #getReports}: the page after {@code cursor} (first page when blank), without totals.
+     * Same filter validation; {@code size} must be positive and is capped like offset pages.
+     */
+    public CursorPage<ReportDTO> getReportsAfter(@Nullable LocalDate start,
+                                                 @Nullable LocalDate end,
+                                                 @Nullable String speciesId,
+                                                 @Nullable SightingGroup group,
+                                                 @Nullable Boolean hasSightings,
+                                                 @Nullable ReportStatus status,
+                                                 Sort sort,
+                                                 @Nullable String cursor,
+                                                 int size) {
+        final String normalizedSpecies = validateFilters(start, end, speciesId, group);
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1.");
+        }
 
-        return reportReadRepository.findReports(
+        return reportReadRepository.findReportsAfter(
                 start,
                 end,
                 normalizedSpecies,
                 group,
                 hasSightings,
                 status,
-                Objects.requireNonNull(pageable, "pageable")
+                Objects.requireNonNull(sort, "sort"),
+                cursor,
+                Math.min(size, MAX_PAGE_SIZE)
         );
     }
 
@@ -72,4 +101,25 @@ public class ReportService {
         return reportReadRepository.findByDate(Objects.requireNonNull(date, "date"))
                 .orElseThrow(() -> new NotFoundException("Report not found for date: " + date));
     }
+
+    // Shared filter checks; returns the normalized speciesId
+    @Nullable
+    private static String validateFilters(@Nullable LocalDate start,
+                                          @Nullable LocalDate end,
+                                          @Nullable String speciesId,
+                                          @Nullable SightingGroup group) {
+        // 1) Mutually exclusive filters: speciesId vs group
+        final boolean hasSpecies = speciesId != null && !speciesId.isBlank();
+        if (hasSpecies && group != null) {
+            throw new IllegalArgumentException("Filters 'speciesId' and 'group' are mutually exclusive.");
+        }
+
+        // 2) Date window validation
+        if (start != null && end != null && end.isBefore(start)) {
+            throw new IllegalArgumentException("End date must be on or after start date.");
+        }
+
+        // Optional: normalize speciesId
+        return hasSpecies ? speciesId.trim() : null;
+    }
 }
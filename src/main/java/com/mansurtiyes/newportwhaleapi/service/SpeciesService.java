@@ -1,15 +1,17 @@
 package com.mansurtiyes.newportwhaleapi.service;
 
+import com.mansurtiyes.newportwhaleapi.dto.CountMode;
 import com.mansurtiyes.newportwhaleapi.dto.SpeciesDTO;
 import com.mansurtiyes.newportwhaleapi.exception.NotFoundException;
 import com.mansurtiyes.newportwhaleapi.model.SightingGroup;
 import com.mansurtiyes.newportwhaleapi.repository.SpeciesReadRepository;
 import jakarta.annotation.Nullable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.Objects;
 
 @Service
 public class SpeciesService {
@@ -25,13 +27,15 @@ public class SpeciesService {
      * @param group optional group filter
      * @param search optional text search (id/common/binomial/aliases)
      * @param pageable page+size (and later, sort if you add it)
+     * @param count exact total (Page), planner estimate (Page) or none (Slice)
      */
-    public Page<SpeciesDTO> getAllSpecies(@Nullable SightingGroup group,
-                                          @Nullable String search,
-                                          Pageable pageable) {
+    public Slice<SpeciesDTO> getAllSpecies(@Nullable SightingGroup group,
+                                           @Nullable String search,
+                                           Pageable pageable,
+                                           CountMode count) {
         // normalize blank search -> null
         final String q = (search != null && !search.isBlank()) ? search.trim() : null;
-        return speciesReadRepository.findAllWithRollups(group, q, pageable);
+        return speciesReadRepository.findAllWithRollups(group, q, pageable, Objects.requireNonNull(count, "count"));
     }
 
     /**
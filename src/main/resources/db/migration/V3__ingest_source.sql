@@ -0,0 +1,10 @@
+-- ----------  Per-source crawl state ----------
+
+CREATE TABLE ingest_source (
+                               source_url      text        PRIMARY KEY,          -- feed URI exactly as requested
+                               etag            text,                             -- last ETag validator, stored verbatim
+                               last_modified   text,                             -- last Last-Modified validator, stored verbatim
+                               fetched_at      timestamptz,                      -- last time a full (200) page was processed
+                               created_at      timestamptz NOT NULL DEFAULT now(),
+                               updated_at      timestamptz NOT NULL DEFAULT now()
+);
@@ -0,0 +1,3 @@
+-- Page-level fingerprint (MD5 of the "Recent Counts" table region) for skipping unchanged pages before parsing
+ALTER TABLE ingest_source
+    ADD COLUMN page_fingerprint uuid;
@@ -0,0 +1,31 @@
+-- ----------  Species catalog version ----------
+-- Bumped by trigger on every alias-relevant write to species, so the alias resolver can poll one row
+-- instead of reloading the whole catalog on each ingest
+
+CREATE TABLE catalog_version (
+                                 name            text        PRIMARY KEY,          -- catalog key, e.g. 'species'
+                                 version         bigint      NOT NULL
+);
+
+INSERT INTO catalog_version (name, version) VALUES ('species', 1);
+
+CREATE FUNCTION bump_species_catalog_version() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE catalog_version SET version = version + 1 WHERE name = 'species';
+    RETURN NULL;
+END;
+$$;
+
+-- statement level: a bulk alias edit is one bump, and first_seen/last_seen rollups never bump
+CREATE TRIGGER trg_species_catalog_write
+    AFTER INSERT OR DELETE OR TRUNCATE ON species
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_species_catalog_version();
+
+CREATE TRIGGER trg_species_catalog_alias_update
+    AFTER UPDATE OF id, aliases ON species
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_species_catalog_version();
+
+-- Catalog version the source's last processed page was resolved against; a newer catalog forces a full re-parse
+ALTER TABLE ingest_source
+    ADD COLUMN species_catalog_version bigint;
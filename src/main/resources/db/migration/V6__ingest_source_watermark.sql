@@ -0,0 +1,5 @@
+-- Incremental ingest: newest report_date a source has been reconciled up to, and when all of its rows were last checked.
+-- Routine runs only look at rows within ingest.incremental.lookback-days of the watermark.
+ALTER TABLE ingest_source
+    ADD COLUMN watermark date,
+    ADD COLUMN last_full_reconcile_at timestamptz;
@@ -0,0 +1,5 @@
+-- Keyset pages on /api/v1/reports seek on (sort key, report_date); report_date alone is served by the primary key.
+-- The tiebreaker follows the first key's direction, so each index is also scanned backwards for DESC sorts.
+CREATE INDEX ix_daily_report_tours_date      ON daily_report(tours, report_date);
+CREATE INDEX ix_daily_report_status_date     ON daily_report(status, report_date);
+CREATE INDEX ix_daily_report_fetched_at_date ON daily_report(fetched_at, report_date);
@@ -0,0 +1,106 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import com.mansurtiyes.newportwhaleapi.ingest.AdaptivePollPlan;
+import com.mansurtiyes.newportwhaleapi.ingest.IngestProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePollPlanTests {
+
+    private static final ZoneId LA = ZoneId.of("America/Los_Angeles");
+    private static final IngestProperties.Schedule SCHEDULE = new IngestProperties.Schedule(true, true, LA,
+            LocalTime.of(8, 0), LocalTime.of(20, 0), Duration.ofMinutes(15), Duration.ofHours(2), 2.0,
+            Duration.ofMinutes(1), Duration.ofMinutes(30), 0.5);
+
+    private static Instant la(int hour, int minute) {
+        return ZonedDateTime.of(2025, 8, 12, hour, minute, 0, 0, LA).toInstant();
+    }
+
+    @Test
+    void backsOffWhileUnchanged_andResetsOnChange() {
+        AdaptivePollPlan plan = new AdaptivePollPlan(SCHEDULE, RandomGenerator.getDefault());
+        Instant now = la(9, 0);
+
+        assertThat(plan.first(now)).isEqualTo(now.plus(Duration.ofMinutes(15)));
+        assertThat(plan.afterRun(now, false)).isEqualTo(now.plus(Duration.ofMinutes(30)));
+        assertThat(plan.afterRun(now, false)).isEqualTo(now.plus(Duration.ofMinutes(60)));
+        assertThat(plan.afterRun(now, false)).isEqualTo(now.plus(Duration.ofMinutes(120)));
+        assertThat(plan.afterRun(now, false)).isEqualTo(now.plus(Duration.ofMinutes(120)));   // capped
+        assertThat(plan.afterRun(now, true)).isEqualTo(now.plus(Duration.ofMinutes(15)));
+        assertThat(plan.interval()).isEqualTo(Duration.ofMinutes(15));
+    }
+
+    @Test
+    void pollsOutsideActiveHours_waitForNextWindowStart_withIntervalReset() {
+        AdaptivePollPlan plan = new AdaptivePollPlan(SCHEDULE, RandomGenerator.getDefault());
+        plan.afterRun(la(10, 0), false);
+        plan.afterRun(la(11, 0), false);
+        assertThat(plan.interval()).isEqualTo(Duration.ofMinutes(60));
+
+        // 19:30 + 2h lands at 21:30 -> tomorrow 08:00, starting over at the minimum interval
+        Instant next = plan.afterRun(la(19, 30), false);
+        assertThat(next).isEqualTo(ZonedDateTime.of(2025, 8, 13, 8, 0, 0, 0, LA).toInstant());
+        assertThat(plan.interval()).isEqualTo(Duration.ofMinutes(15));
+
+        // before the window opens: same day 08:00
+        assertThat(plan.first(la(5, 0))).isEqualTo(la(8, 0));
+    }
+
+    @Test
+    void runLeftToTheLockHolder_keepsTheInterval_plusJitter() {
+        AdaptivePollPlan plan = new AdaptivePollPlan(SCHEDULE, RandomGenerator.getDefault());
+        Instant now = la(9, 0);
+        plan.afterRun(now, false);   // 30m
+
+        for (int i = 0; i < 10; i++) {   // losing the lock repeatedly never backs off toward maxInterval
+            Duration delay = Duration.between(now, plan.afterLocked(now));
+            assertThat(delay).isBetween(Duration.ofMinutes(30), Duration.ofMinutes(45));
+        }
+        assertThat(plan.interval()).isEqualTo(Duration.ofMinutes(30));
+
+        // replicas that lost the lock together do not poll in step
+        long distinct = IntStream.range(0, 20)
+                .mapToObj(seed -> new AdaptivePollPlan(SCHEDULE, new Random(seed)).afterLocked(now))
+                .distinct().count();
+        assertThat(distinct).isGreaterThan(1);
+
+        // the interval still reacts to this instance's own runs
+        assertThat(plan.afterRun(now, true)).isEqualTo(now.plus(Duration.ofMinutes(15)));
+    }
+
+    @Test
+    void failures_retryWithCappedExponentialDelay_minusJitter() {
+        AdaptivePollPlan plan = new AdaptivePollPlan(SCHEDULE, RandomGenerator.getDefault());
+        Instant now = la(12, 0);
+        plan.afterRun(now, false);   // interval 30m, untouched by failures
+
+        long[] expectedMinutes = {1, 2, 4, 8, 16, 30, 30};
+        for (long minutes : expectedMinutes) {
+            Duration delay = Duration.between(now, plan.afterFailure(now));
+            Duration full = Duration.ofMinutes(minutes);
+            assertThat(delay).isLessThanOrEqualTo(full).isGreaterThanOrEqualTo(full.dividedBy(2));
+        }
+        assertThat(plan.consecutiveFailures()).isEqualTo(expectedMinutes.length);
+        assertThat(plan.interval()).isEqualTo(Duration.ofMinutes(30));
+
+        // jitter actually varies the delay between instances
+        long distinct = IntStream.range(0, 20)
+                .mapToObj(seed -> new AdaptivePollPlan(SCHEDULE, new Random(seed)).afterFailure(now))
+                .distinct().count();
+        assertThat(distinct).isGreaterThan(1);
+
+        // success clears the failure streak
+        plan.afterRun(now, false);
+        assertThat(plan.consecutiveFailures()).isZero();
+    }
+}
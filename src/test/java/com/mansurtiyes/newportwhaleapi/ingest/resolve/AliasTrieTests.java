@@ -0,0 +1,131 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import com.mansurtiyes.newportwhaleapi.repository.SpeciesRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class AliasTrieTests {
+
+    private final AliasTrie trie = AliasTrie.build(Map.of(
+            "gray whale", "gray-whale",
+            "gray", "gray-whale",
+            "fin whale", "fin-whale",
+            "blue", "blue-whale",
+            "killer whale", "orca",
+            "false killer whale", "false-killer-whale",
+            "common dolphin", "common-dolphin",
+            "white sided dolphin", "pacific-white-sided-dolphin",
+            "bryde's whale", "brydes-whale",
+            "baleine bleue", "blue-whale"
+    ));
+
+    @Test
+    void exactAliasWins() {
+        assertThat(trie.match("gray whale", 0, 10)).isEqualTo("gray-whale");
+        assertThat(trie.match("bryde's whale", 0, 13)).isEqualTo("brydes-whale");
+        assertThat(trie.match("blue", 0, 4)).isEqualTo("blue-whale");
+    }
+
+    @Test
+    void compoundLabel_resolvesByTrailingAlias_longestFirst() {
+        assertThat(match("juvenile gray whale")).isEqualTo("gray-whale");
+        assertThat(match("short-beaked common dolphin")).isEqualTo("common-dolphin");
+        assertThat(match("a false killer whale")).isEqualTo("false-killer-whale");
+        assertThat(match("transient killer whale")).isEqualTo("orca");
+    }
+
+    @Test
+    void leadingOrEmbeddedAlias_isNotEnough() {
+        assertThat(match("blue shark")).isNull();
+        assertThat(match("gray whale calf")).isNull();
+        assertThat(match("megafin whale")).isNull();      // not on a word boundary
+        assertThat(match("whale")).isNull();
+        assertThat(match("")).isNull();
+    }
+
+    @Test
+    void anotherSpeciesNamedInLabel_isAmbiguous() {
+        assertThat(match("gray whale with fin whale")).isNull();
+        assertThat(match("blue and fin whale")).isNull();
+        assertThat(match("gray and gray whale")).isNull();   // only qualifiers may precede the alias
+    }
+
+    @Test
+    void unknownSpeciesEndingInAnAlias_isNotThatSpecies() {
+        assertThat(match("pygmy killer whale")).isNull();
+        assertThat(match("pygmy-killer whale")).isNull();
+        assertThat(match("atlantic white sided dolphin")).isNull();
+        assertThat(match("dwarf sperm fin whale")).isNull();
+        // qualifiers, also several and around a species' own multi-word alias
+        assertThat(match("mother and calf gray whale")).isEqualTo("gray-whale");
+        assertThat(match("juvenile false killer whale")).isEqualTo("false-killer-whale");
+        assertThat(match("pod of white sided dolphin")).isEqualTo("pacific-white-sided-dolphin");
+    }
+
+    @Test
+    void matchesSpanInPlace_andNonAsciiAliases() {
+        String text = "4 juvenile gray whale, 2 baleine bleue";
+        assertThat(trie.match(text, 2, 21)).isEqualTo("gray-whale");
+        assertThat(trie.match(text, 25, text.length())).isEqualTo("blue-whale");
+        assertThat(AliasTrie.EMPTY.match("gray whale", 0, 10)).isNull();
+    }
+
+    @Test
+    void resolver_memoizesHitsAndMisses_perSnapshot() {
+        InMemorySpeciesResolver resolver = new InMemorySpeciesResolver(mock(SpeciesRepository.class));
+        resolver.load(Map.of("gray-whale", List.of("Gray Whale", "Gray Whales")));
+
+        Optional<String> first = resolver.resolve("Juvenile Gray Whales");
+        assertThat(first).contains("gray-whale");
+        assertThat(resolver.resolve("Juvenile Gray Whales")).isSameAs(first);
+        assertThat(resolver.resolve("Blue Shark")).isEmpty();
+
+        // a reload starts from a fresh memo
+        resolver.load(Map.of("blue-shark", List.of("blue shark")));
+        assertThat(resolver.resolve("Blue Shark")).contains("blue-shark");
+        assertThat(resolver.resolve("Juvenile Gray Whales")).isEmpty();
+    }
+
+    @Test
+    void resolveSpan_memoizesBySpan_perSnapshot() {
+        InMemorySpeciesResolver resolver = new InMemorySpeciesResolver(mock(SpeciesRepository.class));
+        resolver.load(Map.of("gray-whale", List.of("Gray Whale"), "blue-whale", List.of("baleine bleue")));
+
+        String text = "4 juvenile gray whale, 2 blue shark, 1 baleine bleue";
+        for (int round = 0; round < 2; round++) {   // second round is served from the span memo
+            assertThat(resolver.resolveSpan(text, 2, 21)).isEqualTo("gray-whale");
+            assertThat(resolver.resolveSpan(text, 25, 35)).isNull();
+            assertThat(resolver.resolveSpan(text, 39, text.length())).isEqualTo("blue-whale");
+        }
+        // same characters at another offset hit the same entry
+        assertThat(resolver.resolveSpan("x gray whale", 2, 12)).isEqualTo("gray-whale");
+
+        resolver.load(Map.of("blue-shark", List.of("blue shark")));
+        assertThat(resolver.resolveSpan(text, 25, 35)).isEqualTo("blue-shark");
+        assertThat(resolver.resolveSpan(text, 2, 21)).isNull();
+    }
+
+    @Test
+    void spanMemo_startsOverWhenFull() {
+        SpanMemo memo = new SpanMemo(2);
+        memo.put("a b c", 0, 1, "a");
+        memo.put("a b c", 2, 3, null);
+        assertThat(memo.get("a", 0, 1)).extracting(SpanMemo.Entry::id).isEqualTo("a");
+        assertThat(memo.get("b", 0, 1)).isNotNull().extracting(SpanMemo.Entry::id).isNull();
+        assertThat(memo.get("c", 0, 1)).isNull();
+
+        memo.put("a b c", 4, 5, "c");   // third entry: table swapped for an empty one
+        assertThat(memo.get("a", 0, 1)).isNull();
+        assertThat(memo.get("c", 0, 1)).extracting(SpanMemo.Entry::id).isEqualTo("c");
+    }
+
+    private String match(String s) {
+        return trie.match(s, 0, s.length());
+    }
+}
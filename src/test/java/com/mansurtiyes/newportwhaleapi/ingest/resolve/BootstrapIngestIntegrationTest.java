@@ -0,0 +1,109 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import com.mansurtiyes.newportwhaleapi.ingest.FetchResult;
+import com.mansurtiyes.newportwhaleapi.ingest.HtmlFetcher;
+import com.mansurtiyes.newportwhaleapi.ingest.IngestHealthIndicator;
+import com.mansurtiyes.newportwhaleapi.ingest.IngestResult;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+@SpringBootTest(properties = "ingest.schedule.bootstrap=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class BootstrapIngestIntegrationTest {
+
+    private static final CountDownLatch FETCH_STARTED = new CountDownLatch(1);
+    private static final CountDownLatch RELEASE_FETCH = new CountDownLatch(1);
+
+    @Autowired private IngestHealthIndicator ingestHealth;
+    @Autowired private HealthEndpoint healthEndpoint;
+    @Autowired private JdbcTemplate jdbc;
+
+    // an upstream page that hangs until the test lets it answer
+    @TestConfiguration
+    static class HangingUpstream {
+        @Bean
+        @Primary
+        HtmlFetcher hangingFetcher() throws Exception {
+            byte[] page;
+            try (InputStream in = BootstrapIngestIntegrationTest.class.getResourceAsStream("/fixtures/whalecount.html")) {
+                page = in.readAllBytes();
+            }
+            HtmlFetcher fetcher = Mockito.mock(HtmlFetcher.class);
+            Mockito.when(fetcher.fetchIfModified(any(), any(), any())).thenAnswer(inv -> {
+                FETCH_STARTED.countDown();
+                RELEASE_FETCH.await(60, TimeUnit.SECONDS);
+                return new FetchResult(inv.getArgument(0, URI.class), 200, page, "UTF-8", null, null);
+            });
+            return fetcher;
+        }
+    }
+
+    @Test
+    void contextStartsWhileUpstreamHangs_thenBecomesReady() throws Exception {
+        // we are running, so startup did not wait for the page
+        assertThat(FETCH_STARTED.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(ingestHealth.state()).isEqualTo(IngestHealthIndicator.State.INGESTING);
+        boolean hasData = jdbc.queryForObject("select count(*) from daily_report", Long.class) > 0;
+        assertThat(healthEndpoint.healthForPath("readiness").getStatus())
+                .isEqualTo(hasData ? Status.UP : Status.OUT_OF_SERVICE);
+
+        RELEASE_FETCH.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (ingestHealth.state() == IngestHealthIndicator.State.INGESTING && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(ingestHealth.state()).isEqualTo(IngestHealthIndicator.State.READY);
+        assertThat(healthEndpoint.healthForPath("readiness").getStatus()).isEqualTo(Status.UP);
+        assertThat(jdbc.queryForObject("select count(*) from daily_report", Long.class)).isPositive();
+    }
+
+    @Test
+    void states_mapToHealthStatuses() {
+        IngestHealthIndicator health = new IngestHealthIndicator();
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+
+        // first bootstrap on an empty database: nothing to serve until it succeeds
+        health.ingesting(false);
+        assertThat(health.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        health.failed(new IOException("connect timed out"));
+        assertThat(health.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(health.health().getDetails()).containsEntry("state", "degraded");
+
+        health.finished(new IngestResult(IngestResult.Outcome.INGESTED, 10, 10, 10, List.of(), List.of()));
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+
+        // once data is stored, a failing or partial run only degrades
+        health.failed(new IOException("HTTP 503"));
+        assertThat(health.health().getStatus()).isEqualTo(IngestHealthIndicator.DEGRADED);
+        health.finished(new IngestResult(IngestResult.Outcome.PARTIAL, 10, 2, 1,
+                List.of(LocalDate.of(2025, 8, 12)), List.of()));
+        assertThat(health.health().getStatus()).isEqualTo(IngestHealthIndicator.DEGRADED);
+        assertThat(health.health().getDetails()).containsEntry("failedDates", 1);
+
+        health.ingesting(true);
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+    }
+}
@@ -0,0 +1,38 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import com.mansurtiyes.newportwhaleapi.ingest.HostRateLimiter;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HostRateLimiterTests {
+
+    @Test
+    void burstIsFree_thenRequestsAreSpacedByTheRate() throws InterruptedException {
+        HostRateLimiter limiter = new HostRateLimiter(10.0, 2);   // 100 ms per token after 2 free ones
+
+        long t0 = System.nanoTime();
+        limiter.acquire("newportwhales.com");
+        limiter.acquire("newportwhales.com");
+        long burstMs = (System.nanoTime() - t0) / 1_000_000;
+        limiter.acquire("newportwhales.com");
+        limiter.acquire("newportwhales.com");
+        limiter.acquire("NewportWhales.com");                    // host names are case-insensitive
+        long totalMs = (System.nanoTime() - t0) / 1_000_000;
+
+        assertThat(burstMs).isLessThan(50);
+        assertThat(totalMs).isBetween(250L, 1_000L);              // 3 paced tokens ≈ 300 ms
+    }
+
+    @Test
+    void hostsHaveIndependentBuckets() throws InterruptedException {
+        HostRateLimiter limiter = new HostRateLimiter(1.0, 1);    // a second wait on the same host would be 1 s
+
+        long t0 = System.nanoTime();
+        limiter.acquire("a.example");
+        limiter.acquire("b.example");
+        limiter.acquire("c.example");
+
+        assertThat((System.nanoTime() - t0) / 1_000_000).isLessThan(200);
+    }
+}
@@ -1,13 +1,20 @@
 package com.mansurtiyes.newportwhaleapi.ingest.resolve;
 
+import com.mansurtiyes.newportwhaleapi.ingest.FetchResult;
 import com.mansurtiyes.newportwhaleapi.ingest.HtmlFetcher;
+import com.sun.net.httpserver.HttpServer;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -46,5 +53,52 @@ public class HtmlFetcherTest {
         }
     }
 
+    // conditional GET against a local server that honours If-None-Match like the real site's CDN
+    @Test
+    void fetchIfModified_sendsValidators_andReturnsNotModifiedOn304() throws IOException {
+        String etag = "\"v1\"";
+        String lastModified = "Tue, 12 Aug 2025 18:00:00 GMT";
+        List<String> seenIfNoneMatch = new ArrayList<>();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/whalecount.html", exchange -> {
+            String inm = exchange.getRequestHeaders().getFirst("If-None-Match");
+            seenIfNoneMatch.add(inm);
+            exchange.getResponseHeaders().add("ETag", etag);
+            exchange.getResponseHeaders().add("Last-Modified", lastModified);
+            if (etag.equals(inm)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = "<html><head><title>Counts</title></head><body></body></html>"
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        try {
+            URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/whalecount.html");
+
+            // 1) cold fetch: full body + validators
+            FetchResult first = fetcher.fetchIfModified(uri, null, null);
+            assertThat(first.isNotModified()).isFalse();
+            assertThat(first.etag()).isEqualTo(etag);
+            assertThat(first.lastModified()).isEqualTo(lastModified);
+            assertThat(first.parse().title()).isEqualTo("Counts");
 
+            // 2) replay validators: 304, no body
+            FetchResult second = fetcher.fetchIfModified(uri, first.etag(), first.lastModified());
+            assertThat(second.isNotModified()).isTrue();
+            assertThat(second.body()).isEmpty();
+            assertThat(second.etag()).isEqualTo(etag);
+
+            assertThat(seenIfNoneMatch).containsExactly(null, etag);
+        } finally {
+            server.stop(0);
+        }
+    }
 }
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -24,6 +25,7 @@ public class InMemorySpeciesResolverIntegrationTesting {
 
     @Autowired SpeciesRepository speciesRepository;
     @Autowired InMemorySpeciesResolver resolver;
+    @Autowired JdbcTemplate jdbc;
 
     @BeforeEach
     void setUp() {
@@ -164,5 +166,36 @@ public class InMemorySpeciesResolverIntegrationTesting {
         });
     }
 
+    @Test
+    void reloadIfChanged_picksUpAliasEdit_onlyAfterCatalogVersionMoves() {
+        long v1 = resolver.reloadIfChanged();
+        assertThat(resolver.reloadIfChanged()).isEqualTo(v1);
+        assertThat(resolver.resolve("sea wolf")).isEmpty();
+
+        jdbc.update("UPDATE species SET aliases = array_append(aliases, 'sea wolf') WHERE id = 'orca'");
+
+        long v2 = resolver.reloadIfChanged();
+        assertThat(v2).isEqualTo(v1 + 1);
+        assertThat(resolver.resolve("sea wolf")).hasValue("orca");
+    }
+
+    @Test
+    void rollupColumnUpdates_doNotBumpCatalogVersion() {
+        long v1 = speciesRepository.findCatalogVersion();
+
+        jdbc.update("UPDATE species SET last_seen = DATE '2025-08-12', updated_at = now()");
 
+        assertThat(speciesRepository.findCatalogVersion()).isEqualTo(v1);
+    }
+
+    @Test
+    void projection_matchesEntityAliases() {
+        Map<String, List<String>> fromEntities = new java.util.HashMap<>();
+        speciesRepository.findAll().forEach(sp -> fromEntities.put(sp.getId(), sp.getAliases()));
+
+        Map<String, List<String>> fromProjection = new java.util.HashMap<>();
+        speciesRepository.findAllAliases().forEach(sp -> fromProjection.put(sp.getId(), sp.getAliases()));
+
+        assertThat(fromProjection).isEqualTo(fromEntities);
+    }
 }
@@ -1,14 +1,25 @@
 package com.mansurtiyes.newportwhaleapi.ingest.resolve;
 
+import com.mansurtiyes.newportwhaleapi.ingest.FetchResult;
 import com.mansurtiyes.newportwhaleapi.ingest.HtmlFetcher;
+import com.mansurtiyes.newportwhaleapi.ingest.HtmlParser;
+import com.mansurtiyes.newportwhaleapi.ingest.IngestLock;
+import com.mansurtiyes.newportwhaleapi.ingest.IngestMetrics;
+import com.mansurtiyes.newportwhaleapi.ingest.IngestProperties;
+import com.mansurtiyes.newportwhaleapi.ingest.IngestResult;
 import com.mansurtiyes.newportwhaleapi.ingest.IngestService;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+import com.mansurtiyes.newportwhaleapi.ingest.WhaleCountParser;
 import com.mansurtiyes.newportwhaleapi.model.DailyReport;
+import com.mansurtiyes.newportwhaleapi.model.IngestSource;
 import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
 import com.mansurtiyes.newportwhaleapi.repository.DailyReportRepository;
+import com.mansurtiyes.newportwhaleapi.repository.IngestSourceRepository;
 import com.mansurtiyes.newportwhaleapi.repository.ObservationRepository;
 import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -19,15 +30,33 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.sql.DataSource;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -38,29 +67,43 @@ public class IngestServiceIntegrationTest {
     @Autowired private IngestService ingestService;
     @Autowired private DailyReportRepository dailyReportRepo;
     @Autowired private ObservationRepository observationRepo; // not used directly, but ensures bean is wired
+    @Autowired private IngestSourceRepository sourceRepo;
     @Autowired private InMemorySpeciesResolver speciesResolver;
+    @Autowired private WhaleCountParser parser;
+    @Autowired private MeterRegistry meters;
     @Autowired private JdbcTemplate jdbc;
+    @Autowired private DataSource dataSource;
+    @Autowired private Map<String, HtmlParser> parsers;
+    @Autowired private TransactionTemplate tx;
+    @Autowired private IngestProperties props;
+    @Autowired private IngestMetrics metrics;
+    @Autowired private IngestLock clusterLock;
 
     @MockBean private HtmlFetcher fetcher; // we stub network
 
     private static final LocalDate OK_DATE   = LocalDate.of(2025, 8, 12);
     private static final LocalDate BAD_DATE  = LocalDate.of(2025, 4, 26);
+    private static final URI FEED = URI.create("https://newportwhales.com/whalecount.html");
+    private static final String ETAG = "\"whalecount-v1\"";
+
+    private FetchResult fixturePage;
 
     @BeforeEach
     void setUp() throws Exception {
         // Clean tables for test isolation (FK requires deleting observations first)
         jdbc.update("DELETE FROM observation");
         jdbc.update("DELETE FROM daily_report");
+        jdbc.update("DELETE FROM ingest_source");
 
         // Ensure resolver builds alias map from DB (Flyway already seeded species)
         speciesResolver.reload();
 
-        // Load fixture HTML and parse with base URL matching the site
+        // Load fixture HTML as the raw 200 body the site would return
         String html = readResource("/fixtures/whalecount.html");
-        Document fixtureDoc = Jsoup.parse(html, "https://newportwhales.com/whalecount.html");
+        fixturePage = new FetchResult(FEED, 200, html.getBytes(StandardCharsets.UTF_8), "UTF-8", ETAG, null);
 
-        // Stub network: fetch(any URI) -> our fixture document
-        Mockito.when(fetcher.fetch(any())).thenReturn(fixtureDoc);
+        // Stub network: fetchIfModified(any URI, any validators) -> our fixture page
+        Mockito.when(fetcher.fetchIfModified(any(), any(), any())).thenReturn(fixturePage);
     }
 
     @Test
@@ -111,6 +154,387 @@ public class IngestServiceIntegrationTest {
     }
 
 
+    @Test
+    @Transactional
+    void ingest_sendsStoredValidators_andSkipsEverythingOn304() throws Exception {
+        // First run stores the ETag of the fixture page
+        Mockito.when(fetcher.fetchIfModified(eq(FEED), isNull(), isNull())).thenReturn(fixturePage);
+        ingestService.ingest();
+        long dailyCount1 = dailyReportRepo.count();
+
+        // Wipe the written rows: if the second run touched the DB at all they would come back
+        jdbc.update("DELETE FROM observation");
+        jdbc.update("DELETE FROM daily_report");
+
+        // Second run: server confirms the stored ETag is still current
+        Mockito.when(fetcher.fetchIfModified(eq(FEED), eq(ETAG), isNull()))
+                .thenReturn(FetchResult.notModified(FEED, ETAG, null));
+        ingestService.ingest();
+
+        assertThat(dailyCount1).isPositive();
+        assertThat(dailyReportRepo.count()).isZero();
+        Mockito.verify(fetcher).fetchIfModified(FEED, ETAG, null);
+    }
+
+    @Test
+    @Transactional
+    void ingest_identicalTableRegion_skipsParseAndWrites_evenWithout304() throws Exception {
+        ingestService.ingest();
+
+        jdbc.update("DELETE FROM observation");
+        jdbc.update("DELETE FROM daily_report");
+
+        // Server ignores validators and re-sends the page with only a cosmetic change outside the table
+        String html = readResource("/fixtures/whalecount.html")
+                .replace("<title>", "<title>Updated banner – ");
+        Mockito.when(fetcher.fetchIfModified(any(), any(), any())).thenReturn(
+                new FetchResult(FEED, 200, html.getBytes(StandardCharsets.UTF_8), "UTF-8", "\"whalecount-v2\"", null));
+        ingestService.ingest();
+
+        assertThat(dailyReportRepo.count()).isZero();
+        // validators still refreshed so the next poll can get a 304
+        assertThat(sourceRepo.findById(FEED.toString()).orElseThrow().getEtag())
+                .isEqualTo("\"whalecount-v2\"");
+    }
+
+    @Test
+    @Transactional
+    void ingest_speciesCatalogChange_bypassesValidatorsAndFingerprint() throws Exception {
+        ingestService.ingest();
+        long dailyCount1 = dailyReportRepo.count();
+
+        jdbc.update("DELETE FROM observation");
+        jdbc.update("DELETE FROM daily_report");
+
+        // An alias edit bumps the catalog version: the same page must be fetched unconditionally and re-parsed
+        jdbc.update("UPDATE species SET aliases = array_append(aliases, 'sea wolf') WHERE id = 'orca'");
+        Mockito.when(fetcher.fetchIfModified(eq(FEED), eq(ETAG), isNull()))
+                .thenReturn(FetchResult.notModified(FEED, ETAG, null));
+        ingestService.ingest();
+
+        assertThat(dailyReportRepo.count()).isEqualTo(dailyCount1);
+        Mockito.verify(fetcher, Mockito.never()).fetchIfModified(FEED, ETAG, null);
+        assertThat(sourceRepo.findById(FEED.toString()).orElseThrow().getSpeciesCatalogVersion())
+                .isEqualTo(jdbc.queryForObject("SELECT version FROM catalog_version WHERE name = 'species'", Long.class));
+    }
+
+    @Test
+    @Transactional
+    void ingest_incrementalRunsDisabled_stillSendsValidators_andSkipsOn304() throws Exception {
+        IngestService fullRuns = serviceWith(new IngestProperties.Incremental(-1, Duration.ofDays(7)));
+        assertThat(fullRuns.ingest().outcome()).isEqualTo(IngestResult.Outcome.INGESTED);
+
+        jdbc.update("DELETE FROM observation");
+        jdbc.update("DELETE FROM daily_report");
+
+        // every run reads every row, but an unchanged page is still answered with a 304 and not parsed
+        Mockito.when(fetcher.fetchIfModified(eq(FEED), eq(ETAG), isNull()))
+                .thenReturn(FetchResult.notModified(FEED, ETAG, null));
+        IngestResult second = fullRuns.ingest();
+
+        assertThat(second.outcome()).isEqualTo(IngestResult.Outcome.NOT_MODIFIED);
+        assertThat(dailyReportRepo.count()).isZero();
+        Mockito.verify(fetcher).fetchIfModified(FEED, ETAG, null);
+    }
+
+    @Test
+    @Transactional
+    void ingest_pageWithoutRows_stillStoresValidators_andCountsAsFullReconcile() throws Exception {
+        String empty = SyntheticWhaleCountPage.builder().rows(0).build().html();
+        Mockito.when(fetcher.fetchIfModified(any(), any(), any()))
+                .thenReturn(new FetchResult(FEED, 200, empty.getBytes(StandardCharsets.UTF_8), "UTF-8", ETAG, null));
+
+        IngestResult first = ingestService.ingest();
+        assertThat(first.parsed()).isZero();
+        IngestSource state = sourceRepo.findById(FEED.toString()).orElseThrow();
+        assertThat(state.getEtag()).isEqualTo(ETAG);
+        assertThat(state.getPageFingerprint()).isNotNull();
+        assertThat(state.getLastFullReconcileAt()).isNotNull();
+        assertThat(state.getWatermark()).isNull();
+
+        // not a full reconcile again: the stored validators are sent and the 304 skips the page
+        Mockito.when(fetcher.fetchIfModified(eq(FEED), eq(ETAG), isNull()))
+                .thenReturn(FetchResult.notModified(FEED, ETAG, null));
+        assertThat(ingestService.ingest().outcome()).isEqualTo(IngestResult.Outcome.NOT_MODIFIED);
+        Mockito.verify(fetcher).fetchIfModified(FEED, ETAG, null);
+    }
+
+    // Not @Transactional: each write chunk must really commit or roll back on its own
+    @Test
+    void ingest_badDay_rollsBackAlone_andIsRetriedNextRun() throws Exception {
+        List<ParsedReport> reports = parser.parse(Jsoup.parse(readResource("/fixtures/whalecount.html")), FEED.toString());
+
+        // The rarest species on the page; deleting it makes exactly its days violate the observation FK
+        Map<String, List<LocalDate>> datesBySpecies = reports.stream()
+                .flatMap(r -> r.getObservations().stream().map(o -> Map.entry(o.speciesId(), r.getDate())))
+                .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+        datesBySpecies.replaceAll((id, dates) -> dates.stream().distinct().toList());
+        String victim = datesBySpecies.entrySet().stream()
+                .min(Comparator.comparingInt((Map.Entry<String, List<LocalDate>> e) -> e.getValue().size()))
+                .orElseThrow().getKey();
+        List<LocalDate> victimDates = datesBySpecies.get(victim);
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT id, \"group\"::text AS grp, common_name, binomial_name, aliases::text AS aliases FROM species WHERE id = ?",
+                victim);
+
+        // The species disappears after the alias table was loaded, i.e. mid-run
+        Mockito.when(fetcher.fetchIfModified(any(), any(), any())).thenAnswer(inv -> {
+            jdbc.update("DELETE FROM species WHERE id = ?", victim);
+            return fixturePage;
+        });
+        IngestResult first;
+        try {
+            first = ingestService.ingest();
+        } finally {
+            jdbc.update("INSERT INTO species (id, \"group\", common_name, binomial_name, aliases) "
+                            + "VALUES (?, ?::sighting_group, ?, ?, ?::text[])",
+                    row.get("id"), row.get("grp"), row.get("common_name"), row.get("binomial_name"), row.get("aliases"));
+            // doReturn: when(fetcher.fetch...) would run the deleting answer once more
+            Mockito.doReturn(fixturePage).when(fetcher).fetchIfModified(any(), any(), any());
+        }
+
+        assertThat(first.outcome()).isEqualTo(IngestResult.Outcome.PARTIAL);
+        assertThat(first.failedDates()).containsExactlyInAnyOrderElementsOf(victimDates);
+        assertThat(first.written()).isEqualTo(reports.size() - victimDates.size());
+        assertThat(dailyReportRepo.count()).isEqualTo(first.written());
+        for (LocalDate d : victimDates) assertThat(dailyReportRepo.existsById(d)).isFalse();
+        // nothing remembered for the source, so the same page is parsed again
+        assertThat(sourceRepo.findById(FEED.toString())).isEmpty();
+
+        // Next run writes only the days that failed (leaves the table as the fixture seed expects)
+        IngestResult second = ingestService.ingest();
+        assertThat(second.outcome()).isEqualTo(IngestResult.Outcome.INGESTED);
+        assertThat(second.changed()).isEqualTo(victimDates.size());
+        assertThat(dailyReportRepo.count()).isEqualTo(reports.size());
+        // same species twice on a day is stored as one summed row
+        assertThat(reports.stream().mapToLong(r -> r.getObservations().stream().map(ParsedObservation::speciesId).distinct().count()).sum())
+                .isEqualTo(jdbc.queryForObject("select count(*) from observation", Long.class));
+    }
+
+    @Test
+    @Transactional
+    void ingest_severalSources_fetchConcurrently_andHigherPriorityWinsEachDay() throws Exception {
+        IngestProperties.FeedSource low = source("low", "https://low.example/whalecount.html", 0);
+        IngestProperties.FeedSource high = source("high", "https://high.example/whalecount.html", 5);
+        IngestProperties.FeedSource mid = source("mid", "https://mid.example/whalecount.html", 1);
+        byte[] page = readResource("/fixtures/whalecount.html").getBytes(StandardCharsets.UTF_8);
+        Mockito.when(fetcher.fetchIfModified(any(), any(), any())).thenAnswer(inv -> {
+            Thread.sleep(400);                                      // a slow origin
+            return new FetchResult(inv.getArgument(0), 200, page, "UTF-8", null, null);
+        });
+
+        long t0 = System.nanoTime();
+        IngestResult result = ingestService.ingest(List.of(low, high, mid));
+        long elapsedMs = (System.nanoTime() - t0) / 1_000_000;
+
+        assertThat(elapsedMs).isLessThan(1_000);                    // ~ slowest source, not 3 x 400 ms
+        assertThat(result.outcome()).isEqualTo(IngestResult.Outcome.INGESTED);
+        assertThat(result.parsed()).isEqualTo(3 * result.changed());
+        assertThat(jdbc.queryForList("SELECT DISTINCT source_url FROM daily_report", String.class))
+                .containsExactly(high.uri().toString());
+        assertThat(sourceRepo.findAllById(List.of(low.uri().toString(), high.uri().toString(), mid.uri().toString())))
+                .hasSize(3);
+    }
+
+    @Test
+    @Transactional
+    void ingest_sourcesWaitingOnTheirHostsRate_doNotHoldTheGlobalFetchSlot() throws Exception {
+        // one fetch at a time overall; slow.example allows one request per second
+        IngestService oneSlot = serviceWith(new IngestProperties.Fetch(1, 1.0, 1));
+        List<IngestProperties.FeedSource> feeds = List.of(
+                source("slow-1", "https://slow.example/a.html", 0),
+                source("slow-2", "https://slow.example/b.html", 0),
+                source("slow-3", "https://slow.example/c.html", 0),
+                source("other", "https://other.example/whalecount.html", 0));
+        byte[] page = readResource("/fixtures/whalecount.html").getBytes(StandardCharsets.UTF_8);
+        Map<String, Long> fetchedAtMs = new ConcurrentHashMap<>();
+        long t0 = System.nanoTime();
+        Mockito.when(fetcher.fetchIfModified(any(), any(), any())).thenAnswer(inv -> {
+            URI uri = inv.getArgument(0);
+            fetchedAtMs.putIfAbsent(uri.getHost(), (System.nanoTime() - t0) / 1_000_000);
+            return new FetchResult(uri, 200, page, "UTF-8", null, null);
+        });
+
+        oneSlot.ingest(feeds);
+
+        // the other host is not queued behind the two slow.example sources sleeping ~1 s and ~2 s for tokens
+        assertThat(fetchedAtMs.get("other.example")).isLessThan(500L);
+        Mockito.verify(fetcher, Mockito.times(4)).fetchIfModified(any(), any(), any());
+    }
+
+    @Test
+    @Transactional
+    void ingest_lowerPrioritySource_doesNotOverwriteDayOwnedByHigherPriority() throws Exception {
+        IngestProperties.FeedSource low = source("low", "https://low.example/whalecount.html", 0);
+        IngestProperties.FeedSource high = source("high", "https://high.example/whalecount.html", 5);
+        String html = readResource("/fixtures/whalecount.html");
+        Mockito.when(fetcher.fetchIfModified(eq(high.uri()), any(), any()))
+                .thenReturn(new FetchResult(high.uri(), 200, html.getBytes(StandardCharsets.UTF_8), "UTF-8", null, null));
+        ingestService.ingest(List.of(high));
+
+        // The low-priority page disagrees on one day; the high-priority page is unchanged, so it is not re-parsed
+        String recounted = html.replace("2855 Common Dolphin", "2856 Common Dolphin");
+        Mockito.when(fetcher.fetchIfModified(eq(low.uri()), any(), any()))
+                .thenReturn(new FetchResult(low.uri(), 200, recounted.getBytes(StandardCharsets.UTF_8), "UTF-8", null, null));
+        IngestResult result = ingestService.ingest(List.of(low, high));
+
+        assertThat(result.written()).isZero();
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM daily_report WHERE source_url <> ?", Long.class,
+                high.uri().toString())).isZero();
+    }
+
+    @Test
+    @Transactional
+    void ingest_recordsEveryStage() throws Exception {
+        double written0 = count("ingest.reports", "result", "written");
+        double unchanged0 = count("ingest.reports", "result", "unchanged");
+        double inserted0 = count("ingest.observation.rows", "op", "inserted");
+        double resolved0 = count("species.resolver.labels", "outcome", "resolved");
+        long fetches0 = meters.find("ingest.fetch").tag("source", "whalecount").timers().stream().mapToLong(t -> t.count()).sum();
+
+        IngestResult result = ingestService.ingest();
+
+        assertThat(count("ingest.reports", "result", "written") - written0).isEqualTo(result.written());
+        assertThat(count("ingest.observation.rows", "op", "inserted") - inserted0).isPositive();
+        assertThat(count("species.resolver.labels", "outcome", "resolved") - resolved0).isPositive();
+        assertThat(meters.find("ingest.fetch").tags("source", "whalecount", "outcome", "ok").timer()).isNotNull();
+        assertThat(meters.find("ingest.fetch").tag("source", "whalecount").timers().stream().mapToLong(t -> t.count()).sum())
+                .isEqualTo(fetches0 + 1);
+        assertThat(meters.get("ingest.parse.rows").tag("parser", "whaleCountParser").summary().max())
+                .isEqualTo(result.parsed());
+        // newest fixture day is in the past, so the data is at least a day old
+        assertThat(meters.get("ingest.data.age").gauge().value()).isGreaterThan(86_400);
+        assertThat(meters.get("ingest.last.success.age").gauge().value()).isBetween(0.0, 60.0);
+
+        // forget the crawl state so the same page is parsed again: every day now counts as unchanged
+        sourceRepo.deleteAll();
+        ingestService.ingest();
+        assertThat(count("ingest.reports", "result", "unchanged") - unchanged0).isEqualTo(result.changed());
+    }
+
+    // Not @Transactional: crawl state is aged through JDBC and must be re-read by the service
+    @Test
+    void ingest_afterFullRun_readsOnlyLookbackWindow_untilFullReconcileIsDue() throws Exception {
+        List<ParsedReport> all = parser.parse(Jsoup.parse(readResource("/fixtures/whalecount.html")), FEED.toString());
+        LocalDate since = OK_DATE.minusDays(7);   // ingest.incremental.lookback-days
+        long inWindow = all.stream().filter(r -> !r.getDate().isBefore(since)).count();
+
+        IngestResult full = ingestService.ingest();
+        assertThat(full.parsed()).isEqualTo(all.size());
+        assertThat(sourceRepo.findById(FEED.toString()).orElseThrow().getWatermark()).isEqualTo(OK_DATE);
+
+        // the site corrects a recent day and, unusually, an old one
+        String html = readResource("/fixtures/whalecount.html")
+                .replaceFirst("(08/12/2025</td>\\s*<td>)14(</td>)", "$115$2")
+                .replaceFirst("(04/26/2025</td>\\s*<td>)0(</td>\\s*<td>)Bad Weather ", "$13$23 Gray Whales");
+        FetchResult edited = new FetchResult(FEED, 200, html.getBytes(StandardCharsets.UTF_8), "UTF-8", "\"whalecount-v2\"", null);
+        Mockito.doReturn(edited).when(fetcher).fetchIfModified(any(), any(), any());
+
+        // routine run: validators sent, only the window read, the old correction not seen yet
+        IngestResult incremental = ingestService.ingest();
+        Mockito.verify(fetcher).fetchIfModified(FEED, ETAG, null);
+        assertThat(incremental.parsed()).isEqualTo((int) inWindow).isLessThan(all.size());
+        assertThat(incremental.changed()).isEqualTo(1);
+        assertThat(dailyReportRepo.findById(OK_DATE).orElseThrow().getTours()).isEqualTo(15);
+        assertThat(dailyReportRepo.findById(BAD_DATE).orElseThrow().getStatus()).isEqualTo(ReportStatus.bad_weather);
+
+        // a week after the last full pass every row is checked again, validators and fingerprint ignored
+        jdbc.update("UPDATE ingest_source SET last_full_reconcile_at = now() - interval '8 days'");
+        IngestResult reconciled = ingestService.ingest();
+        Mockito.verify(fetcher, Mockito.atLeastOnce()).fetchIfModified(FEED, null, null);
+        assertThat(reconciled.parsed()).isEqualTo(all.size());
+        assertThat(reconciled.changed()).isEqualTo(1);
+        assertThat(dailyReportRepo.findById(BAD_DATE).orElseThrow().getStatus()).isEqualTo(ReportStatus.ok);
+        assertThat(countObsForDate(BAD_DATE)).isEqualTo(1);
+
+        // leave the table as the fixture seed expects
+        Mockito.doReturn(fixturePage).when(fetcher).fetchIfModified(any(), any(), any());
+        assertThat(ingestService.reconcile().changed()).isEqualTo(2);
+    }
+
+    // Not @Transactional: the lock is held on a second connection, like another instance would
+    @Test
+    void ingest_whileAnotherInstanceHoldsTheLock_leavesTheRunToIt() throws Exception {
+        try (Connection other = dataSource.getConnection();
+             Statement st = other.createStatement()) {
+            st.execute("select pg_advisory_lock(" + IngestLock.KEY + ")");
+            try {
+                IngestResult skipped = ingestService.ingest();
+                assertThat(skipped.outcome()).isEqualTo(IngestResult.Outcome.LOCKED);
+                assertThat(skipped.isComplete()).isTrue();
+                Mockito.verifyNoInteractions(fetcher);
+                assertThat(dailyReportRepo.count()).isZero();
+            } finally {
+                st.execute("select pg_advisory_unlock(" + IngestLock.KEY + ")");
+            }
+        }
+
+        // lock free again: this instance does the work, and releases the lock afterwards
+        assertThat(ingestService.ingest().outcome()).isEqualTo(IngestResult.Outcome.INGESTED);
+        assertThat(jdbc.queryForObject("select count(*) from pg_locks where locktype = 'advisory'", Long.class)).isZero();
+    }
+
+    @Test
+    void ingest_concurrentCalls_coalesceIntoTheRunInFlight() throws Exception {
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        Mockito.doAnswer(inv -> {
+            fetchStarted.countDown();
+            releaseFetch.await(30, TimeUnit.SECONDS);
+            return fixturePage;
+        }).when(fetcher).fetchIfModified(any(), any(), any());
+        double coalesced0 = count("ingest.runs.coalesced");
+
+        try (ExecutorService callers = Executors.newFixedThreadPool(3)) {
+            Future<IngestResult> first = callers.submit(() -> ingestService.ingest());
+            assertThat(fetchStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<IngestResult> second = callers.submit(() -> ingestService.ingest());
+            Future<IngestResult> third = callers.submit(() -> ingestService.ingest());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (count("ingest.runs.coalesced") - coalesced0 < 2 && System.nanoTime() < deadline) Thread.sleep(10);
+            releaseFetch.countDown();
+
+            IngestResult result = first.get(30, TimeUnit.SECONDS);
+            assertThat(result.outcome()).isEqualTo(IngestResult.Outcome.INGESTED);
+            assertThat(second.get(30, TimeUnit.SECONDS)).isSameAs(result);
+            assertThat(third.get(30, TimeUnit.SECONDS)).isSameAs(result);
+        }
+        Mockito.verify(fetcher, Mockito.times(1)).fetchIfModified(any(), any(), any());
+        assertThat(count("ingest.runs.coalesced") - coalesced0).isEqualTo(2);
+
+        // finished runs are not reused: the next call fetches again
+        Mockito.doReturn(fixturePage).when(fetcher).fetchIfModified(any(), any(), any());
+        ingestService.ingest();
+        Mockito.verify(fetcher, Mockito.times(2)).fetchIfModified(any(), any(), any());
+    }
+
+    private double count(String name) {
+        return meters.find(name).counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+
+    private double count(String name, String tag, String value) {
+        return meters.find(name).tag(tag, value).counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+
+    // same beans as the context's IngestService, other incremental or fetch settings
+    private IngestService serviceWith(IngestProperties.Incremental incremental) {
+        return serviceWith(new IngestProperties(props.sources(), props.fetch(), incremental, props.schedule(),
+                props.checksum(), props.write()));
+    }
+
+    private IngestService serviceWith(IngestProperties.Fetch fetch) {
+        return serviceWith(new IngestProperties(props.sources(), fetch, props.incremental(), props.schedule(),
+                props.checksum(), props.write()));
+    }
+
+    private IngestService serviceWith(IngestProperties custom) {
+        return new IngestService(dailyReportRepo, observationRepo, sourceRepo, fetcher, parsers, speciesResolver,
+                tx, custom, metrics, clusterLock);
+    }
+
+    private static IngestProperties.FeedSource source(String name, String uri, int priority) {
+        return new IngestProperties.FeedSource(name, URI.create(uri), "whaleCountParser", priority);
+    }
 
     // --- helpers ---
 
@@ -0,0 +1,42 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ParsedReport.buildCanonical as it was before the streaming hasher, kept verbatim as a test oracle
+ * and as the baseline for the JMH comparison. Observations must already be sorted by speciesId.
+ */
+public final class LegacyCanonical {
+    private LegacyCanonical() {}
+
+    public static String canonical(LocalDate date, int tours, ReportStatus status, List<ParsedObservation> observations) {
+        // Keep stable ordering, no whitespace quirks.
+        Map<String,Object> map = new LinkedHashMap<>();
+        map.put("date", date.toString());
+        map.put("tours", tours);
+        map.put("status", status.name().toLowerCase());
+        List<Map<String,Object>> obs = new ArrayList<>();
+        for (ParsedObservation o : observations) {
+            Map<String,Object> m = new LinkedHashMap<>();
+            m.put("speciesId", o.speciesId());
+            m.put("count", o.individuals());
+            obs.add(m);
+        }
+        map.put("observations", obs);
+        try {
+            return new ObjectMapper().writeValueAsString(map);
+        } catch (JsonProcessingException e) {
+            // Fallback, but this should basically never happen.
+            return date + "|" + tours + "|" + status + "|" + obs.toString();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The regex-based WhaleCountParser.parseObservations as it was before the hand-written scanner,
+ * kept verbatim as a test oracle and as the baseline for the JMH comparison.
+ */
+public final class LegacyObservationParser {
+
+    private static final Pattern ITEM_SPLIT = Pattern.compile("(?<!\\d)\\s*,\\s*(?=\\d)");
+    private static final Pattern OBS_PATTERN = Pattern.compile("^([\\d,]+)\\s+(.+)$");
+
+    private final SpeciesResolver speciesResolver;
+
+    public LegacyObservationParser(SpeciesResolver speciesResolver) {
+        this.speciesResolver = speciesResolver;
+    }
+
+    public List<ParsedObservation> parseObservations(String description) {
+        if (description == null) return List.of();
+
+        final String norm = TextNormalizer.norm(description);
+        if (norm.isBlank()) return List.of();
+
+        List<ParsedObservation> out = new ArrayList<>();
+        String[] parts = ITEM_SPLIT.split(norm);
+
+        for (String part : parts) {
+            if (part.isBlank()) continue;
+
+            Matcher m = OBS_PATTERN.matcher(part);
+            if (!m.matches()) continue;
+
+            String countStr = m.group(1).replace(",", "");
+            final int individuals;
+            try {
+                individuals = Integer.parseInt(countStr);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+
+            String label = m.group(2).trim();
+            label = label.replaceAll("[\\p{Punct}]+$", "").trim();
+
+            Optional<String> speciesId = speciesResolver.resolve(label);
+            if (speciesId.isEmpty()) continue;
+
+            out.add(new ParsedObservation(speciesId.get(), individuals));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,21 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+/**
+ * TextNormalizer.norm as it was before the single-pass rewrite, kept verbatim as a test oracle
+ * and as the baseline for the JMH comparison.
+ */
+public final class LegacyTextNormalizer {
+    private LegacyTextNormalizer() {}
+
+    public static String norm(String s) {
+        if (s == null) return "";
+        String t = java.text.Normalizer.normalize(s, java.text.Normalizer.Form.NFKC);
+        t = t.replace('\u00A0', ' ')   // NBSP -> space
+                .replace('\u2013', '-')   // en dash
+                .replace('\u2014', '-')   // em dash
+                .replace('\u2212', '-')   // minus sign
+                .replace('\u00AD', ' ');  // soft hyphen -> space
+        t = t.replace('’','\'');       // curly -> straight apostrophe
+        return t.trim().toLowerCase().replaceAll("\\s+", " ");
+    }
+}
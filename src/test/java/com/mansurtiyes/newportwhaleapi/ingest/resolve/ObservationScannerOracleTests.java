@@ -0,0 +1,118 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.ingest.WhaleCountParser;
+import com.mansurtiyes.newportwhaleapi.repository.SpeciesRepository;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The hand-written observation scanner must split, count and label exactly like the regex version did
+ * (kept as {@link LegacyObservationParser}). No Spring context: aliases come from the V2 seed SQL.
+ */
+public class ObservationScannerOracleTests {
+
+    private WhaleCountParser parser;
+    private LegacyObservationParser legacy;
+
+    @BeforeEach
+    void setUp() {
+        InMemorySpeciesResolver resolver = new InMemorySpeciesResolver(mock(SpeciesRepository.class));
+        resolver.load(SeedAliases.fromMigration());
+        parser = new WhaleCountParser(resolver);
+        legacy = new LegacyObservationParser(resolver);
+    }
+
+    @Test
+    void matchesRegexParser_onEveryFixtureRow() throws IOException {
+        List<String> details = fixtureDetails();
+        assertThat(details).hasSizeGreaterThan(100);
+        for (String d : details) {
+            assertSame(d);
+        }
+    }
+
+    @Test
+    void matchesRegexParser_onEdgeCases() {
+        List<String> cases = List.of(
+                "", " ", ",", ", 5 fin whales", "5,130 common dolphin", "5 ,130 common dolphin",
+                "3 whales 5 ,130 dolphins", "4 fin whales,2 gray whales", "4 fin whales , 2 gray whales",
+                "1 blue shark, 2 fin whales.", "2 fin whales . .", "2 fin whales!!", "2  fin   whales",
+                ",,, fin whale", ",5 fin whale", "5,,0 fin whale", "2147483647 fin whale", "2147483648 fin whale",
+                "99999999999999999999 fin whale, 1 fin whale", "00012 fin whale", "7 ", "7 ,", "7,",
+                "12 Bryde’s Whales", "3 Risso's Dolphins", "2 Pacific White–Sided Dolphin", "1 False Killer",
+                "10 Mola Mola", "1 fin whale ", "1 fin\u0085whale", "4 fin whales, and 2 gray whales",
+                "2 gray whales,3 fin", "1 orca; 2 mako", "6,000 common dolphin, 2 bottlenose dolphin, 3 mola mola",
+                "bad weather", "1 ﬁn whale", "1 Ｆｉｎ whale", "2\tgray\nwhales", "1 gray whale\u0001"
+        );
+        for (String c : cases) {
+            assertSame(c);
+        }
+    }
+
+    @Test
+    void matchesRegexParser_onRandomInput() {
+        String[] tokens = {"0", "1", "5", "12", "2,800", ",", ", ", " ,", " ", "  ", ".", "!", "'", "’", "–", " ",
+                "fin", "whale", "whales", "gray", "common", "dolphin", "mola mola", "bottlenose", "killer", "false",
+                "risso's", "x", "\t"};
+        Random rnd = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int len = 1 + rnd.nextInt(14);
+            for (int t = 0; t < len; t++) sb.append(tokens[rnd.nextInt(tokens.length)]);
+            assertSame(sb.toString());
+        }
+    }
+
+    @Test
+    void parsesCountsWithSeparatorsAndResolvesSpans() {
+        assertThat(parser.parseObservations("5 Minke Whales, 1 Bryde's Whale, 1 Mola Mola, 1 Blue Shark, 5,130 Common Dolphin"))
+                .extracting(ParsedObservation::speciesId, ParsedObservation::individuals)
+                .containsExactly(
+                        tuple("minke-whale", 5),
+                        tuple("brydes-whale", 1),
+                        tuple("sunfish", 1),
+                        tuple("common-dolphin", 5130));
+    }
+
+    // ---- helpers ----
+
+    private void assertSame(String input) {
+        assertThat(parser.parseObservations(input))
+                .as("input %s", quote(input))
+                .isEqualTo(legacy.parseObservations(input));
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            if (c < 0x20 || c > 0x7E) sb.append(String.format("\\u%04X", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    private static List<String> fixtureDetails() throws IOException {
+        try (InputStream is = ObservationScannerOracleTests.class.getResourceAsStream("/fixtures/whalecount.html")) {
+            String html = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            List<String> out = new ArrayList<>();
+            for (Element row : Jsoup.parse(html).select("table.data-table tbody > tr:has(td)")) {
+                if (row.select("td").size() >= 3) out.add(row.select("td").get(2).text());
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import com.mansurtiyes.newportwhaleapi.ingest.PageFingerprint;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PageFingerprintTest {
+
+    @Test
+    void cosmeticChangeOutsideRecentCounts_keepsFingerprint() throws IOException {
+        String html = readFixture();
+        String restyled = html.replace("<title>", "<title>New season! ")
+                .replace("</body>", "<script>track()</script></body>");
+
+        assertThat(PageFingerprint.of(bytes(restyled))).isEqualTo(PageFingerprint.of(bytes(html)));
+    }
+
+    @Test
+    void changeInsideRecentCounts_changesFingerprint() throws IOException {
+        String html = readFixture();
+        String recounted = html.replace("2855 Common Dolphin", "2856 Common Dolphin");
+
+        assertThat(recounted).isNotEqualTo(html);
+        assertThat(PageFingerprint.of(bytes(recounted))).isNotEqualTo(PageFingerprint.of(bytes(html)));
+    }
+
+    @Test
+    void pageWithoutRecentCounts_fallsBackToWholeBody() {
+        byte[] a = bytes("<html><body><p>maintenance</p></body></html>");
+        byte[] b = bytes("<html><body><p>maintenance!</p></body></html>");
+
+        assertThat(PageFingerprint.of(a)).isNotEqualTo(PageFingerprint.of(b));
+        assertThat(PageFingerprint.of(a)).isEqualTo(UUID.nameUUIDFromBytes(a));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readFixture() throws IOException {
+        try (InputStream is = PageFingerprintTest.class.getResourceAsStream("/fixtures/whalecount.html")) {
+            if (is == null) throw new IOException("Fixture not found");
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
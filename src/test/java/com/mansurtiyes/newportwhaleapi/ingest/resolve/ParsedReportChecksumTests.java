@@ -0,0 +1,97 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ChecksumAlgorithm;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The streamed canonical form must stay byte-identical to the Jackson/LinkedHashMap JSON the checksums in
+ * daily_report were computed from, otherwise every stored day would look changed after a deploy.
+ */
+class ParsedReportChecksumTests {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 8, 12);
+
+    @Test
+    void md5_matchesLegacyJacksonCanonical() {
+        List<List<ParsedObservation>> cases = List.of(
+                List.of(),
+                List.of(new ParsedObservation("gray-whale", 3)),
+                List.of(new ParsedObservation("risso-dolphin", 40), new ParsedObservation("common-dolphin", 1200),
+                        new ParsedObservation("fin-whale", 0)),
+                // ids never look like this, but the escaping has to agree with Jackson if they ever do
+                List.of(new ParsedObservation("quote\"back\\slash", -7), new ParsedObservation("tab\tnl\n\u0001", 1),
+                        new ParsedObservation("ballena-azul-ñ", 2), new ParsedObservation("鯨", 3),
+                        new ParsedObservation("whale-🐋", Integer.MAX_VALUE),
+                        new ParsedObservation("min", Integer.MIN_VALUE)));
+
+        for (List<ParsedObservation> obs : cases) {
+            for (ReportStatus status : ReportStatus.values()) {
+                for (int tours : new int[]{0, 1, 9, 10, 14, 123456}) {
+                    ParsedReport r = new ParsedReport(DATE, tours, status, obs, "u");
+                    String legacy = legacyCanonical(r);
+                    assertThat(r.getCanonical()).isEqualTo(legacy);
+                    assertThat(r.getChecksum())
+                            .isEqualTo(UUID.nameUUIDFromBytes(legacy.getBytes(StandardCharsets.UTF_8)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void md5_dates() {
+        for (LocalDate d : List.of(LocalDate.of(1, 1, 1), LocalDate.of(999, 12, 31), LocalDate.of(2025, 1, 9),
+                LocalDate.of(9999, 12, 31), LocalDate.of(10000, 1, 1), LocalDate.of(-5, 6, 7))) {
+            ParsedReport r = new ParsedReport(d, 1, ReportStatus.ok, List.of(), "u");
+            assertThat(r.getCanonical()).isEqualTo(legacyCanonical(r));
+        }
+    }
+
+    @Test
+    void murmur3_matchesReferenceVector() {
+        ParsedReport r = new ParsedReport(DATE, 14, ReportStatus.ok,
+                List.of(new ParsedObservation("gray-whale", 3)), "u", ChecksumAlgorithm.MURMUR3_128);
+
+        // MurmurHash3_x64_128(seed 0) of the canonical JSON is 4e5d3f7b272c6b53 129feda2dc43eb06
+        // (checked against commons-codec MurmurHash3.hash128x64), then stamped as version 8 / IETF variant
+        assertThat(r.getChecksum()).isEqualTo(UUID.fromString("4e5d3f7b-272c-8b53-929f-eda2dc43eb06"));
+        assertThat(r.getChecksum().version()).isEqualTo(8);
+        assertThat(r.getChecksum().variant()).isEqualTo(2);
+    }
+
+    @Test
+    void algorithmsDisagree_soSwitchingRewritesEachDayOnce() {
+        List<ParsedObservation> obs = List.of(new ParsedObservation("gray-whale", 3));
+        ParsedReport md5 = new ParsedReport(DATE, 14, ReportStatus.ok, obs, "u", ChecksumAlgorithm.MD5);
+        ParsedReport murmur = new ParsedReport(DATE, 14, ReportStatus.ok, obs, "u", ChecksumAlgorithm.MURMUR3_128);
+
+        assertThat(md5.getChecksum()).isNotEqualTo(murmur.getChecksum());
+        assertThat(md5.getCanonical()).isEqualTo(murmur.getCanonical());
+        assertThat(md5.getChecksum().version()).isEqualTo(3);
+    }
+
+    @Test
+    void murmur3_longInputCrossesManyBlocks() {
+        List<ParsedObservation> obs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) obs.add(new ParsedObservation("species-" + i, i));
+        ParsedReport a = new ParsedReport(DATE, 14, ReportStatus.ok, obs, "u", ChecksumAlgorithm.MURMUR3_128);
+        obs.set(199, new ParsedObservation("species-199", 200));
+        ParsedReport b = new ParsedReport(DATE, 14, ReportStatus.ok, obs, "u", ChecksumAlgorithm.MURMUR3_128);
+
+        assertThat(a.getChecksum()).isNotEqualTo(b.getChecksum());
+    }
+
+    private static String legacyCanonical(ParsedReport r) {
+        return LegacyCanonical.canonical(r.getDate(), r.getTours(), r.getStatus(), r.getObservations());
+    }
+}
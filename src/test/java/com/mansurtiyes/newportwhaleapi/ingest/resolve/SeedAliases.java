@@ -0,0 +1,48 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Species id -> aliases as seeded by the V2 Flyway migration, read straight from the SQL so
+ * resolver tests and benchmarks can run without a database.
+ */
+public final class SeedAliases {
+
+    private static final String SEED = "/db/migration/V2__seed_species.sql";
+
+    // ('gray-whale', 'whale', ..., ARRAY['gray','gray whale', ...])
+    private static final Pattern ROW = Pattern.compile("\\(\\s*'([a-z0-9-]+)'[^\\[\\]]*?ARRAY\\[(.*?)]", Pattern.DOTALL);
+    private static final Pattern QUOTED = Pattern.compile("'((?:[^']|'')*)'");
+
+    private SeedAliases() {}
+
+    public static Map<String, List<String>> fromMigration() {
+        String sql;
+        try (InputStream in = SeedAliases.class.getResourceAsStream(SEED)) {
+            if (in == null) throw new IllegalStateException("Missing " + SEED);
+            sql = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, List<String>> out = new LinkedHashMap<>();
+        Matcher row = ROW.matcher(sql);
+        while (row.find()) {
+            List<String> aliases = new ArrayList<>();
+            Matcher q = QUOTED.matcher(row.group(2));
+            while (q.find()) aliases.add(q.group(1).replace("''", "'"));
+            out.put(row.group(1), aliases);
+        }
+        if (out.isEmpty()) throw new IllegalStateException("No species rows found in " + SEED);
+        return out;
+    }
+}
@@ -0,0 +1,264 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Builds whalecount.html pages of any length for scaling tests and benchmarks.
+ *
+ * Everything outside the Recent Counts rows (head, scripts, the other tables, footer) is copied from
+ * fixtures/whalecount.html, and rows are written with the live page's quirks: tab-indented cells, zero-padded
+ * dates, the odd row missing its opening {@code <tr>}, "Bad Weather" with and without a trailing space, and
+ * thousands separators on some large counts. Labels are the seeded aliases, title-cased, plus a few labels
+ * that resolve to nothing ("Sea Lions"), so every stage of parse -> resolve -> checksum does real work.
+ *
+ * Rows are generated from the seed on every pass and never held, so a 1M-row page costs its HTML and nothing
+ * else; {@link #forEachRow} replays the same rows with the observations the parser should produce.
+ * Dates count back one day per row from {@code newest} and wrap every 1,000 years.
+ */
+public final class SyntheticWhaleCountPage {
+
+    private static final String FIXTURE = "/fixtures/whalecount.html";
+    private static final DateTimeFormatter MM_DD_YYYY = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+    private static final int WRAP_DAYS = 365_242;
+    private static final List<String> UNKNOWN_LABELS = List.of("Sea Lions", "Flying Fish", "Pelicans", "Seals");
+
+    private static volatile String[] template;   // {before the first data row, after the last}
+
+    private final int rows;
+    private final LocalDate newest;
+    private final long seed;
+    private final int maxSpeciesPerRow;
+    private final double badWeatherRate;
+    private final double thousandsSeparatorRate;
+    private final double unknownLabelRate;
+    private final List<Map.Entry<String, List<String>>> species;
+
+    private SyntheticWhaleCountPage(Builder b) {
+        this.rows = b.rows;
+        this.newest = b.newest;
+        this.seed = b.seed;
+        this.maxSpeciesPerRow = Math.min(b.maxSpeciesPerRow, b.species.size());
+        this.badWeatherRate = b.badWeatherRate;
+        this.thousandsSeparatorRate = b.thousandsSeparatorRate;
+        this.unknownLabelRate = b.unknownLabelRate;
+        this.species = List.copyOf(b.species.entrySet());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** One generated row: what the page shows and what the parser should make of it. */
+    public record Row(LocalDate date, int tours, ReportStatus status, String details,
+                      List<ParsedObservation> observations) {}
+
+    public int rows() {
+        return rows;
+    }
+
+    public String html() {
+        StringBuilder sb = new StringBuilder(template()[0].length() + template()[1].length() + rows * 190);
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);   // StringBuilder never throws
+        }
+        return sb.toString();
+    }
+
+    public void writeTo(Appendable out) throws IOException {
+        String[] t = template();
+        out.append(t[0]);
+        IOException[] failure = new IOException[1];
+        Random quirks = new Random(~seed);
+        forEachRow(row -> {
+            if (failure[0] != null) return;
+            try {
+                writeRow(out, row, quirks.nextInt(10) == 0);
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) throw failure[0];
+        out.append(t[1]);
+    }
+
+    /** Replays the rows in page order (newest first). */
+    public void forEachRow(Consumer<Row> sink) {
+        Random rnd = new Random(seed);
+        int[] picks = new int[species.size()];
+        for (int i = 0; i < picks.length; i++) picks[i] = i;
+
+        for (int i = 0; i < rows; i++) {
+            LocalDate date = newest.minusDays(i % WRAP_DAYS);
+            if (rnd.nextDouble() < badWeatherRate) {
+                sink.accept(new Row(date, rnd.nextInt(3), ReportStatus.bad_weather,
+                        rnd.nextBoolean() ? "Bad Weather" : "Bad Weather ", List.of()));
+                continue;
+            }
+
+            int tours = 1 + rnd.nextInt(25);
+            int n = 1 + rnd.nextInt(maxSpeciesPerRow);
+            shuffle(picks, n, rnd);
+
+            StringBuilder details = new StringBuilder(n * 24);
+            List<ParsedObservation> expected = new ArrayList<>(n);
+            for (int k = 0; k < n; k++) {
+                Map.Entry<String, List<String>> s = species.get(picks[k]);
+                List<String> aliases = s.getValue();
+                int count = s.getKey().contains("dolphin") ? 10 + rnd.nextInt(6000) : 1 + rnd.nextInt(12);
+                appendItem(details, count, titleCase(aliases.get(rnd.nextInt(aliases.size()))), rnd);
+                expected.add(new ParsedObservation(s.getKey(), count));
+            }
+            if (rnd.nextDouble() < unknownLabelRate) {
+                appendItem(details, 1 + rnd.nextInt(40), UNKNOWN_LABELS.get(rnd.nextInt(UNKNOWN_LABELS.size())), rnd);
+            }
+            expected.sort(Comparator.comparing(ParsedObservation::speciesId));
+            sink.accept(new Row(date, tours, ReportStatus.ok, details.toString(), Collections.unmodifiableList(expected)));
+        }
+    }
+
+    private void appendItem(StringBuilder details, int count, String label, Random rnd) {
+        if (!details.isEmpty()) details.append(", ");
+        if (count >= 1000 && rnd.nextDouble() < thousandsSeparatorRate) {
+            details.append(String.format(Locale.ROOT, "%,d", count));
+        } else {
+            details.append(count);
+        }
+        details.append(' ').append(label);
+    }
+
+    private static void writeRow(Appendable out, Row row, boolean missingOpenTag) throws IOException {
+        out.append("\t\t\t\t\t\t\t\t\t\t\n");
+        if (!missingOpenTag) out.append("\t\t\t\t\t\t\t\t\t\t<tr>\n");
+        out.append("                                        <td>").append(MM_DD_YYYY.format(row.date())).append("</td>\n")
+                .append("\t\t\t\t\t\t\t\t\t\t<td>").append(Integer.toString(row.tours())).append("</td>\n")
+                .append("                                        <td>").append(row.details()).append("</td>\n")
+                .append("\t\t\t\t\t\t\t\t\t    </tr>\n");
+    }
+
+    // partial Fisher-Yates: the first n entries become a random distinct selection
+    private static void shuffle(int[] a, int n, Random rnd) {
+        for (int i = 0; i < n; i++) {
+            int j = i + rnd.nextInt(a.length - i);
+            int tmp = a[i];
+            a[i] = a[j];
+            a[j] = tmp;
+        }
+    }
+
+    private static String titleCase(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        boolean start = true;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            sb.append(start ? Character.toUpperCase(c) : c);
+            start = c == ' ' || c == '-';
+        }
+        return sb.toString();
+    }
+
+    private static String[] template() {
+        String[] t = template;
+        if (t != null) return t;
+        String page;
+        try (InputStream in = SyntheticWhaleCountPage.class.getResourceAsStream(FIXTURE)) {
+            if (in == null) throw new IllegalStateException("Missing " + FIXTURE);
+            page = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // cut just before the line holding the first data cell and at the line closing the table body
+        int heading = page.indexOf("Recent Counts</h3>");
+        int firstCell = page.indexOf("<td>", heading);
+        int bodyEnd = page.indexOf("</tbody>", firstCell);
+        if (heading < 0 || firstCell < 0 || bodyEnd < 0) throw new IllegalStateException(FIXTURE + " has no Recent Counts rows");
+        t = new String[]{
+                page.substring(0, page.lastIndexOf('\n', firstCell) + 1),
+                page.substring(page.lastIndexOf('\n', bodyEnd) + 1)
+        };
+        template = t;
+        return t;
+    }
+
+    public static final class Builder {
+        private int rows = 1_000;
+        private LocalDate newest = LocalDate.of(2025, 8, 12);
+        private long seed = 42;
+        private int maxSpeciesPerRow = 5;
+        private double badWeatherRate = 0.03;
+        private double thousandsSeparatorRate = 0.5;
+        private double unknownLabelRate = 0.1;
+        private Map<String, List<String>> species = SeedAliases.fromMigration();
+
+        private Builder() {}
+
+        public Builder rows(int rows) {
+            if (rows < 0) throw new IllegalArgumentException("rows must be >= 0");
+            this.rows = rows;
+            return this;
+        }
+
+        public Builder newest(LocalDate newest) {
+            this.newest = Objects.requireNonNull(newest, "newest");
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder maxSpeciesPerRow(int max) {
+            if (max < 1) throw new IllegalArgumentException("maxSpeciesPerRow must be >= 1");
+            this.maxSpeciesPerRow = max;
+            return this;
+        }
+
+        public Builder badWeatherRate(double rate) {
+            this.badWeatherRate = rate;
+            return this;
+        }
+
+        /** Share of counts >= 1,000 written as "5,200" rather than "5200". */
+        public Builder thousandsSeparatorRate(double rate) {
+            this.thousandsSeparatorRate = rate;
+            return this;
+        }
+
+        /** Share of rows that also mention an animal the resolver does not know. */
+        public Builder unknownLabelRate(double rate) {
+            this.unknownLabelRate = rate;
+            return this;
+        }
+
+        /** Species id -> page labels to draw from; defaults to the V2 seed aliases. */
+        public Builder species(Map<String, List<String>> labelsById) {
+            if (labelsById.isEmpty()) throw new IllegalArgumentException("species must not be empty");
+            this.species = new LinkedHashMap<>(labelsById);   // keeps the seed reproducible
+            return this;
+        }
+
+        public SyntheticWhaleCountPage build() {
+            return new SyntheticWhaleCountPage(this);
+        }
+    }
+}
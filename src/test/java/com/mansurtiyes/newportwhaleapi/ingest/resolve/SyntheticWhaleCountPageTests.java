@@ -0,0 +1,69 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+import com.mansurtiyes.newportwhaleapi.ingest.WhaleCountParser;
+import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
+import com.mansurtiyes.newportwhaleapi.repository.SpeciesRepository;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/** The generator is only useful if the parser reads its pages exactly as it reads the live one. */
+public class SyntheticWhaleCountPageTests {
+
+    private static final String URL = "https://newportwhales.com/whalecount.html";
+
+    private WhaleCountParser parser;
+
+    @BeforeEach
+    void setUp() {
+        InMemorySpeciesResolver resolver = new InMemorySpeciesResolver(mock(SpeciesRepository.class));
+        resolver.load(SeedAliases.fromMigration());
+        parser = new WhaleCountParser(resolver);
+    }
+
+    @Test
+    void parserReadsBackEveryGeneratedRow_domAndStream() throws IOException {
+        SyntheticWhaleCountPage page = SyntheticWhaleCountPage.builder().rows(2_000).seed(7).build();
+        String html = page.html();
+
+        List<SyntheticWhaleCountPage.Row> expected = new ArrayList<>();
+        page.forEachRow(expected::add);
+        List<ParsedReport> dom = parser.parse(Jsoup.parse(html, URL), URL);
+        List<ParsedReport> streamed = new ArrayList<>();
+        parser.parse(new StringReader(html), URL, streamed::add);
+
+        assertThat(dom).hasSize(2_000);
+        assertThat(streamed).hasSize(2_000);
+        for (int i = 0; i < expected.size(); i++) {
+            SyntheticWhaleCountPage.Row row = expected.get(i);
+            for (ParsedReport r : List.of(dom.get(i), streamed.get(i))) {
+                assertThat(r.getDate()).isEqualTo(row.date());
+                assertThat(r.getTours()).isEqualTo(row.tours());
+                assertThat(r.getStatus()).isEqualTo(row.status());
+                assertThat(r.getObservations()).as(row.details()).isEqualTo(row.observations());
+            }
+            assertThat(streamed.get(i).getChecksum()).isEqualTo(dom.get(i).getChecksum());
+        }
+
+        // the quirks the generator promises are actually on the page
+        assertThat(expected).anyMatch(r -> r.status() == ReportStatus.bad_weather);
+        assertThat(expected).anyMatch(r -> r.details().matches(".*\\d,\\d{3} .*"));
+        assertThat(expected).anyMatch(r -> r.details().contains("Sea Lions") || r.details().contains("Seals"));
+    }
+
+    @Test
+    void sameSeed_samePage() {
+        SyntheticWhaleCountPage.Builder b = SyntheticWhaleCountPage.builder().rows(300).seed(11);
+        assertThat(b.build().html()).isEqualTo(b.build().html());
+        assertThat(SyntheticWhaleCountPage.builder().rows(300).seed(12).build().html()).isNotEqualTo(b.build().html());
+    }
+}
@@ -0,0 +1,85 @@
+package com.mansurtiyes.newportwhaleapi.ingest.resolve;
+
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The single-pass normalizer must return exactly what the original NFKC/replace/regex chain did. */
+public class TextNormalizerTests {
+
+    @Test
+    void matchesLegacy_onHandPickedInputs() {
+        List<String> cases = List.of(
+                "", " ", "\t\n", "fin whale", "  Fin   Whales  ", "5,130 Common Dolphin", "A\tB\nC\u000BD\fE\rF",
+                "x\u0001y", "\u0001 trimmed control \u0002", "Bryde’s Whale", "Pacific White–Sided — Dolphin",
+                "−5", "soft­hyphen", "non breaking", "ﬁn whale", "Ｆｉｎ Ｗｈａｌｅ", "ΟΔΥΣΣΕΥΣ",
+                "Café", "İstanbul", "I", "already normal", "UPPER", "a  b", "a \t b", " a", "a "
+        );
+        for (String c : cases) {
+            assertSameAsLegacy(c);
+        }
+        assertThat(TextNormalizer.norm(null)).isEqualTo(LegacyTextNormalizer.norm(null));
+    }
+
+    @Test
+    void matchesLegacy_onFixturePage() throws IOException {
+        try (InputStream is = TextNormalizerTests.class.getResourceAsStream("/fixtures/whalecount.html")) {
+            String html = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            Jsoup.parse(html).select("td, th, p, h3").forEach(el -> assertSameAsLegacy(el.text()));
+        }
+    }
+
+    @Test
+    void matchesLegacy_onRandomInput() {
+        char[] alphabet = ("aZ09 ,.'-\t\n\r\u000B\f\u0001 ­–—−’é́"
+                + "ﬁＡΣİẞ").toCharArray();
+        Random rnd = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            char[] s = new char[rnd.nextInt(12)];
+            for (int j = 0; j < s.length; j++) s[j] = alphabet[rnd.nextInt(alphabet.length)];
+            assertSameAsLegacy(new String(s));
+        }
+    }
+
+    @Test
+    void matchesLegacy_underLocalesWithSpecialCasing() {
+        Locale saved = Locale.getDefault();
+        try {
+            for (Locale l : List.of(Locale.forLanguageTag("tr"), Locale.forLanguageTag("az"), Locale.forLanguageTag("lt"))) {
+                Locale.setDefault(l);
+                for (String c : List.of("FIN WHALE", "Risso's Dolphin", "I", "İ", "Iİ̇")) {
+                    assertSameAsLegacy(c);
+                }
+            }
+        } finally {
+            Locale.setDefault(saved);
+        }
+    }
+
+    @Test
+    void normalizedAsciiInput_isReturnedAsIs() {
+        String s = "common dolphin";
+        assertThat(TextNormalizer.norm(s)).isSameAs(s);
+    }
+
+    private static void assertSameAsLegacy(String input) {
+        assertThat(TextNormalizer.norm(input)).as("input %s", escape(input)).isEqualTo(LegacyTextNormalizer.norm(input));
+    }
+
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            if (c < 0x20 || c > 0x7E) sb.append(String.format("\\u%04X", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -17,10 +17,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.FilterReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -198,6 +202,80 @@ public class WhaleCountParserIntegrationTests {
 
 
 
+    @Test
+    void streamingParse_matchesDomParse_onFixtureHtml() throws IOException {
+        String url = "https://newportwhales.com/whalecount.html";
+        String html = readResource("/fixtures/whalecount.html");
+
+        List<ParsedReport> dom = parser.parse(Jsoup.parse(html, url), url);
+        List<ParsedReport> streamed = new ArrayList<>();
+        parser.parse(new StringReader(html), url, streamed::add);
+
+        assertThat(streamed).isNotEmpty();
+        assertThat(streamed)
+                .extracting(ParsedReport::getDate, ParsedReport::getTours, ParsedReport::getStatus, ParsedReport::getChecksum)
+                .containsExactlyElementsOf(dom.stream()
+                        .map(r -> tuple(r.getDate(), r.getTours(), r.getStatus(), r.getChecksum()))
+                        .toList());
+
+        // without the "Recent Counts" heading both modes fall back to the table's TH headers
+        String renamed = html.replace("Recent Counts", "Latest Counts");
+        List<ParsedReport> fallback = new ArrayList<>();
+        parser.parse(new StringReader(renamed), url, fallback::add);
+        assertThat(fallback).extracting(ParsedReport::getChecksum)
+                .containsExactlyElementsOf(dom.stream().map(ParsedReport::getChecksum).toList());
+        assertThat(parser.parse(Jsoup.parse(renamed, url), url)).hasSameSizeAs(dom);
+    }
+
+    @Test
+    void streamingParse_stopsReadingAfterRecentCountsTable() throws IOException {
+        String url = "https://newportwhales.com/whalecount.html";
+        String fixture = readResource("/fixtures/whalecount.html");
+        // an archived page with a very long tail after the table
+        String html = fixture.replace("</body>", "<p>archived footer</p>".repeat(200_000) + "</body>");
+        long[] charsRead = {0};
+        Reader counting = new FilterReader(new StringReader(html)) {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                int n = super.read(cbuf, off, len);
+                if (n > 0) charsRead[0] += n;
+                return n;
+            }
+        };
+
+        List<ParsedReport> streamed = new ArrayList<>();
+        parser.parse(counting, url, streamed::add);
+
+        assertThat(streamed).isNotEmpty();
+        assertThat(charsRead[0]).isLessThan(fixture.length() + 100_000L).isLessThan(html.length());
+    }
+
+    @Test
+    void streamingParse_withSince_stopsAtFirstOlderRow() throws IOException {
+        String url = "https://newportwhales.com/whalecount.html";
+        String html = readResource("/fixtures/whalecount.html");
+        LocalDate since = LocalDate.of(2025, 8, 5);
+        List<ParsedReport> dom = parser.parse(Jsoup.parse(html, url), url);
+
+        long[] charsRead = {0};
+        Reader counting = new FilterReader(new StringReader(html)) {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                int n = super.read(cbuf, off, len);
+                if (n > 0) charsRead[0] += n;
+                return n;
+            }
+        };
+        List<ParsedReport> recent = new ArrayList<>();
+        parser.parse(counting, url, since, recent::add);
+
+        assertThat(recent).extracting(ParsedReport::getChecksum).containsExactlyElementsOf(dom.stream()
+                .filter(r -> !r.getDate().isBefore(since)).map(ParsedReport::getChecksum).toList());
+        assertThat(recent).hasSizeLessThan(dom.size());
+        // the (long) rest of the table is never read
+        assertThat(charsRead[0]).isLessThan(html.indexOf("04/26/2025"));
+    }
+
     // --- helper: print the split list for reference (matches parser's behavior) ---
     private static void printSplit(String label, String input) {
         String norm = TextNormalizer.norm(input);
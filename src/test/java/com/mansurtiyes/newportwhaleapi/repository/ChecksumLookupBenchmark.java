@@ -0,0 +1,169 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Before/after for the ingest checksum lookup: one findCheckSumByDate per parsed row
+ * vs a single findChecksumsBetween range query. Round trips are counted at the JDBC
+ * level (every Statement.execute*), wall time with System.nanoTime.
+ *
+ * Opt-in: mvn -Pbenchmark test
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ChecksumLookupBenchmark {
+
+    private static final AtomicLong STATEMENTS = new AtomicLong();
+
+    private static final int DAYS = 365;           // one season of history on the page
+    private static final int WARMUP = 3;
+    private static final int ROUNDS = 10;
+    private static final LocalDate FIRST = LocalDate.of(2041, 1, 1);
+
+    @Autowired private DailyReportRepository dailyReportRepo;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private TransactionTemplate tx;
+
+    @Test
+    void perRowLookup_vs_rangeQuery() {
+        tx.executeWithoutResult(status -> {
+            seed();
+
+            long[] perRow = measure(() -> {
+                int hits = 0;
+                for (int i = 0; i < DAYS; i++) {
+                    if (dailyReportRepo.findCheckSumByDate(FIRST.plusDays(i)).isPresent()) hits++;
+                }
+                return hits;
+            });
+            long[] range = measure(() -> {
+                ChecksumIndex index = dailyReportRepo.findChecksumsBetween(FIRST, FIRST.plusDays(DAYS - 1));
+                int hits = 0;
+                for (int i = 0; i < DAYS; i++) {
+                    if (index.get(FIRST.plusDays(i)) != null) hits++;
+                }
+                return hits;
+            });
+
+            System.out.printf("%nChecksum lookup for %d parsed dates (avg of %d rounds)%n", DAYS, ROUNDS);
+            System.out.printf("  %-32s %8s %12s%n", "strategy", "trips", "wall ms");
+            System.out.printf("  %-32s %8d %12.3f%n", "findCheckSumByDate per row", perRow[0], perRow[1] / 1e6);
+            System.out.printf("  %-32s %8d %12.3f%n", "findChecksumsBetween (range)", range[0], range[1] / 1e6);
+
+            assertThat(perRow[0]).isEqualTo(DAYS);
+            assertThat(range[0]).isEqualTo(1);
+
+            status.setRollbackOnly();
+        });
+    }
+
+    /** @return {round trips per round, average nanos per round} */
+    private long[] measure(java.util.function.IntSupplier work) {
+        for (int i = 0; i < WARMUP; i++) assertThat(work.getAsInt()).isEqualTo(DAYS);
+
+        long trips = 0;
+        long nanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long before = STATEMENTS.get();
+            long t0 = System.nanoTime();
+            work.getAsInt();
+            nanos += System.nanoTime() - t0;
+            trips += STATEMENTS.get() - before;
+        }
+        return new long[]{trips / ROUNDS, nanos / ROUNDS};
+    }
+
+    private void seed() {
+        jdbc.update("DELETE FROM daily_report WHERE report_date BETWEEN ? AND ?", FIRST, FIRST.plusDays(DAYS - 1));
+        jdbc.batchUpdate("""
+                INSERT INTO daily_report (report_date, tours, status, fetched_at, source_url, checksum)
+                VALUES (?, 1, 'ok', now(), 'bench', ?)
+                """, java.util.stream.IntStream.range(0, DAYS)
+                .mapToObj(i -> new Object[]{FIRST.plusDays(i),
+                        UUID.nameUUIDFromBytes(("bench:" + i).getBytes(StandardCharsets.UTF_8))})
+                .toList());
+    }
+
+    // ---- JDBC round-trip counter ----
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return (bean instanceof DataSource ds) ? new CountingDataSource(ds) : bean;
+                }
+            };
+        }
+    }
+
+    static class CountingDataSource extends DelegatingDataSource {
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countingConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return countingConnection(super.getConnection(username, password));
+        }
+
+        private static Connection countingConnection(Connection target) {
+            return proxy(Connection.class, target, (result) ->
+                    result instanceof Statement st ? proxy(statementType(st), st, null) : result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Class<Statement> statementType(Statement st) {
+            if (st instanceof java.sql.CallableStatement) return (Class) java.sql.CallableStatement.class;
+            if (st instanceof java.sql.PreparedStatement) return (Class) java.sql.PreparedStatement.class;
+            return Statement.class;
+        }
+
+        private static <T> T proxy(Class<T> type, T target, java.util.function.UnaryOperator<Object> wrapResult) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, m, args) -> {
+                if (target instanceof Statement && m.getName().startsWith("execute")) {
+                    STATEMENTS.incrementAndGet();
+                }
+                try {
+                    Object result = m.invoke(target, args);
+                    return wrapResult != null ? wrapResult.apply(result) : result;
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+import com.mansurtiyes.newportwhaleapi.model.DailyReport;
+import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Backfill throughput of the COPY loader: DAYS generated reports x SPECIES observations each,
+ * produced lazily so the only heap in play is the loader's flush buffer. A smaller slice is also
+ * written the old way (saveAndFlush + replaceAllForDate per day) for comparison. Rolled back afterwards.
+ *
+ * Opt-in: mvn -Pbenchmark test
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class CopyLoadBenchmark {
+
+    private static final int DAYS = 50_000;
+    private static final int SPECIES = 40;
+    private static final int PER_DAY_SLICE = 2_000;
+    private static final LocalDate FIRST = LocalDate.of(2100, 1, 1);
+
+    @Autowired private DailyReportRepository dailyReportRepo;
+    @Autowired private ObservationRepository observationRepo;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private TransactionTemplate tx;
+
+    @Test
+    void copyLoad_millionsOfObservations() {
+        List<String> species = jdbc.queryForList("SELECT id FROM species ORDER BY id LIMIT " + SPECIES, String.class);
+
+        tx.executeWithoutResult(status -> {
+            long t0 = System.nanoTime();
+            reports(PER_DAY_SLICE, species).forEach(r -> {
+                DailyReport dr = new DailyReport();
+                dr.setReportDate(r.getDate());
+                dr.setTours(r.getTours());
+                dr.setStatus(r.getStatus());
+                dr.setFetchedAt(OffsetDateTime.now());
+                dr.setSourceUrl(r.getSourceUrl());
+                dr.setChecksum(r.getChecksum());
+                dailyReportRepo.insert(dr);
+                observationRepo.replaceAllForDate(r.getDate(), r.getObservations());
+            });
+            long perDay = (System.nanoTime() - t0) / 1_000_000;
+
+            t0 = System.nanoTime();
+            dailyReportRepo.copyLoad(reports(PER_DAY_SLICE, species).map(r -> new ParsedReport(
+                    r.getDate().plusYears(300), r.getTours(), r.getStatus(), r.getObservations(), r.getSourceUrl())),
+                    OffsetDateTime.now());
+            long copy = (System.nanoTime() - t0) / 1_000_000;
+            System.out.printf("%n%d reports x %d species: per-day JPA/JDBC %d ms, COPY %d ms%n",
+                    PER_DAY_SLICE, species.size(), perDay, copy);
+            status.setRollbackOnly();
+        });
+
+        tx.executeWithoutResult(status -> {
+            resetPeaks();
+            long t0 = System.nanoTime();
+            CopyLoadResult result = dailyReportRepo.copyLoad(reports(DAYS, species), OffsetDateTime.now());
+            long millis = (System.nanoTime() - t0) / 1_000_000;
+
+            System.out.printf("%nCOPY backfill: %d reports, %d observations in %d ms (peak heap %d MB)%n",
+                    result.stagedReports(), result.stagedObservations(), millis, peakHeapMb());
+
+            assertThat(result.observationsWritten()).isEqualTo(DAYS * species.size());
+            status.setRollbackOnly();
+        });
+    }
+
+    private static Stream<ParsedReport> reports(int days, List<String> species) {
+        return IntStream.range(0, days).mapToObj(i ->
+                new ParsedReport(FIRST.plusDays(i), 2, ReportStatus.ok,
+                        species.stream().map(s -> new ParsedObservation(s, i % 500)).toList(),
+                        "https://newportwhales.com/whalecount.html"));
+    }
+
+    private static void resetPeaks() {
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private static long peakHeapMb() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(p -> p.getType() == MemoryType.HEAP)
+                .mapToLong(p -> p.getPeakUsage().getUsed())
+                .sum() / (1024 * 1024);
+    }
+}
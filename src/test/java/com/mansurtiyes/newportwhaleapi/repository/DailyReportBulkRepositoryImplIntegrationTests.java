@@ -0,0 +1,123 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DailyReportBulkRepositoryImplIntegrationTests {
+
+    @Autowired private DailyReportRepository dailyReportRepo; // extends DailyReportBulkRepository
+    @Autowired private JdbcTemplate jdbc;
+
+    private final LocalDate D1 = LocalDate.of(2031, 3, 1);
+    private final LocalDate D3 = LocalDate.of(2031, 3, 3);
+
+    @BeforeEach
+    @Transactional
+    void seed() {
+        jdbc.update("DELETE FROM daily_report WHERE report_date BETWEEN ? AND ?", D1.minusDays(5), D3.plusDays(5));
+        insert(D1);
+        insert(D3);   // D2 intentionally missing
+    }
+
+    @Test
+    @Transactional
+    void findChecksumsBetween_loadsWindow_inOneQuery() {
+        ChecksumIndex index = dailyReportRepo.findChecksumsBetween(D1, D3);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.get(D1)).isEqualTo(checksum(D1));
+        assertThat(index.get(D1.plusDays(1))).isNull();
+        assertThat(index.get(D3)).isEqualTo(checksum(D3));
+        assertThat(index.matches(D3, checksum(D3))).isTrue();
+        assertThat(index.matches(D3, checksum(D1))).isFalse();
+    }
+
+    @Test
+    @Transactional
+    void findChecksumsBetween_ignoresRowsOutsideWindow_andAnswersNullOutside() {
+        ChecksumIndex index = dailyReportRepo.findChecksumsBetween(D3, D3.plusDays(2));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.get(D1)).isNull();                 // before the window
+        assertThat(index.get(D3.plusDays(30))).isNull();    // after the window
+    }
+
+    @Test
+    @Transactional
+    void upsertAll_insertsNewDays_andUpdatesOnlyChangedOnes() {
+        LocalDate d2 = D1.plusDays(1);
+        ParsedReport changed = report(D1, 1);         // seeded row has a different checksum
+        ParsedReport fresh = report(d2, 7);
+        OffsetDateTime fetchedAt = OffsetDateTime.of(2031, 3, 4, 18, 0, 0, 0, ZoneOffset.UTC);
+
+        int affected = dailyReportRepo.upsertAll(List.of(changed, fresh), fetchedAt);
+        assertThat(affected).isEqualTo(2);
+
+        // D1 existed -> updated with version bump; d2 is new -> version 1
+        assertThat(row(D1).get("version")).isEqualTo(2);
+        assertThat(row(D1).get("checksum")).isEqualTo(changed.getChecksum());
+        assertThat(row(d2).get("version")).isEqualTo(1);
+        assertThat(row(d2).get("tours")).isEqualTo(7);
+        assertThat(row(d2).get("status")).isEqualTo("ok");
+
+        // Same content again: checksum unchanged -> rows left alone
+        int again = dailyReportRepo.upsertAll(List.of(changed, fresh), fetchedAt.plusDays(1));
+        assertThat(again).isZero();
+        assertThat(row(D1).get("version")).isEqualTo(2);
+        assertThat(row(d2).get("version")).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void upsertAll_emptyList_isNoop() {
+        assertThat(dailyReportRepo.upsertAll(List.of(), OffsetDateTime.now())).isZero();
+    }
+
+    // ---- helpers ----
+
+    private ParsedReport report(LocalDate date, int tours) {
+        return new ParsedReport(date, tours, ReportStatus.ok,
+                List.of(new ParsedObservation("common-dolphin", 100)),
+                "https://newportwhales.com/whalecount.html");
+    }
+
+    private Map<String, Object> row(LocalDate date) {
+        return jdbc.queryForMap(
+                "SELECT tours, status::text AS status, checksum, version FROM daily_report WHERE report_date = ?", date);
+    }
+
+    private void insert(LocalDate date) {
+        jdbc.update("""
+                INSERT INTO daily_report (report_date, tours, status, fetched_at, source_url, checksum)
+                VALUES (?, 1, 'ok', now(), 'https://newportwhales.com/whalecount.html', ?)
+                """, date, checksum(date));
+    }
+
+    private static UUID checksum(LocalDate date) {
+        return UUID.nameUUIDFromBytes(("daily:" + date).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,7 @@
 package com.mansurtiyes.newportwhaleapi.repository;
 
 import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
 import com.mansurtiyes.newportwhaleapi.model.DailyReport;
 import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
 import jakarta.transaction.Transactional;
@@ -34,19 +35,24 @@ public class ObservationBulkRepositoryImplIntegrationTests {
     @Autowired private JdbcTemplate jdbc;
 
     private final LocalDate D = LocalDate.of(2025, 8, 12);
+    private final LocalDate D2 = D.plusDays(1);
 
     @BeforeEach
     @Transactional
     void ensureDailyReportRow() {
-        // Make sure the FK target exists (species come from Flyway already)
-        if (!dailyReportRepo.existsById(D)) {
+        // Make sure the FK targets exist (species come from Flyway already)
+        for (LocalDate d : List.of(D, D2)) ensureDailyReportRow(d);
+    }
+
+    private void ensureDailyReportRow(LocalDate d) {
+        if (!dailyReportRepo.existsById(d)) {
             DailyReport dr = new DailyReport();
-            dr.setReportDate(D);
+            dr.setReportDate(d);
             dr.setTours(14);
             dr.setStatus(ReportStatus.ok);
             dr.setFetchedAt(OffsetDateTime.now());
             dr.setSourceUrl("https://newportwhales.com/whalecount.html");
-            dr.setChecksum(UUID.nameUUIDFromBytes(("daily:" + D).getBytes(StandardCharsets.UTF_8)));
+            dr.setChecksum(UUID.nameUUIDFromBytes(("daily:" + d).getBytes(StandardCharsets.UTF_8)));
             dailyReportRepo.insert(dr);
         }
     }
@@ -114,8 +120,71 @@ public class ObservationBulkRepositoryImplIntegrationTests {
         assertThat(rows).isEmpty();
     }
 
+    @Test
+    @Transactional
+    void replaceAll_across_dates_writes_only_the_difference() {
+        clearObservations();
+        ObservationDiff first = observationRepo.replaceAll(List.of(
+                report(D, ReportStatus.ok,
+                        new ParsedObservation("humpback-whale", 3),
+                        new ParsedObservation("common-dolphin", 2800)),
+                report(D2, ReportStatus.ok,
+                        new ParsedObservation("fin-whale", 1))
+        ));
+        assertThat(first).isEqualTo(new ObservationDiff(3, 0, 0));
+
+        // Same snapshot again: nothing to write
+        ObservationDiff same = observationRepo.replaceAll(List.of(
+                report(D, ReportStatus.ok,
+                        new ParsedObservation("common-dolphin", 2800),
+                        new ParsedObservation("humpback-whale", 3)),
+                report(D2, ReportStatus.ok,
+                        new ParsedObservation("fin-whale", 1))
+        ));
+        assertThat(same).isEqualTo(ObservationDiff.NONE);
+
+        // One count corrected on D, humpback dropped, minke added on D2
+        ObservationDiff second = observationRepo.replaceAll(List.of(
+                report(D, ReportStatus.ok,
+                        new ParsedObservation("common-dolphin", 3100)),
+                report(D2, ReportStatus.ok,
+                        new ParsedObservation("fin-whale", 1),
+                        new ParsedObservation("minke-whale", 2))
+        ));
+        assertThat(second).isEqualTo(new ObservationDiff(1, 1, 1));
+        assertThat(selectSpeciesCounts(D)).containsExactlyInAnyOrderEntriesOf(Map.of("common-dolphin", 3100));
+        assertThat(selectSpeciesCounts(D2)).containsExactlyInAnyOrderEntriesOf(Map.of("fin-whale", 1, "minke-whale", 2));
+    }
+
+    @Test
+    @Transactional
+    void replaceAll_bad_weather_clears_date_and_duplicate_species_are_summed() {
+        clearObservations();
+        observationRepo.replaceAllForDate(D, List.of(new ParsedObservation("gray-whale", 4)));
+
+        ObservationDiff diff = observationRepo.replaceAll(List.of(
+                report(D, ReportStatus.bad_weather),
+                report(D2, ReportStatus.ok,
+                        new ParsedObservation("common-dolphin", 200),
+                        new ParsedObservation("common-dolphin", 50))
+        ));
+
+        assertThat(diff).isEqualTo(new ObservationDiff(1, 0, 1));
+        assertThat(selectSpeciesCounts(D)).isEmpty();
+        assertThat(selectSpeciesCounts(D2)).containsExactlyInAnyOrderEntriesOf(Map.of("common-dolphin", 250));
+    }
+
     // ---- helpers ----
 
+    private void clearObservations() {
+        // the seeded fixture may already hold rows for these dates; start from a known state (rolled back)
+        jdbc.update("DELETE FROM observation WHERE report_date IN (?, ?)", D, D2);
+    }
+
+    private static ParsedReport report(LocalDate date, ReportStatus status, ParsedObservation... observations) {
+        return new ParsedReport(date, 1, status, List.of(observations), "https://newportwhales.com/whalecount.html");
+    }
+
     private Map<String, Integer> selectSpeciesCounts(LocalDate date) {
         // Query the observation table for this date and return species_id -> individuals
         List<Map<String, Object>> list = jdbc.queryForList(
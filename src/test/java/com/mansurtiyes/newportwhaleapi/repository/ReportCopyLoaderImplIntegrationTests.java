@@ -0,0 +1,120 @@
+package com.mansurtiyes.newportwhaleapi.repository;
+
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedObservation;
+import com.mansurtiyes.newportwhaleapi.ingest.ParsedReport;
+import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ReportCopyLoaderImplIntegrationTests {
+
+    @Autowired private DailyReportRepository dailyReportRepo; // extends ReportCopyLoader
+    @Autowired private JdbcTemplate jdbc;
+
+    private final LocalDate D1 = LocalDate.of(2032, 6, 1);
+    private final LocalDate D2 = D1.plusDays(1);
+    private final OffsetDateTime FETCHED = OffsetDateTime.of(2032, 6, 3, 18, 0, 0, 0, ZoneOffset.UTC);
+
+    @BeforeEach
+    @Transactional
+    void clean() {
+        jdbc.update("DELETE FROM daily_report WHERE report_date BETWEEN ? AND ?", D1.minusDays(5), D1.plusDays(400));
+    }
+
+    @Test
+    @Transactional
+    void copyLoad_stagesAndMerges_newDays() {
+        CopyLoadResult result = dailyReportRepo.copyLoad(Stream.of(
+                report(D1, ReportStatus.ok, "https://example.com/a\tb\\c",
+                        new ParsedObservation("humpback-whale", 3),
+                        new ParsedObservation("common-dolphin", 2800)),
+                report(D2, ReportStatus.bad_weather, "https://example.com/")
+        ), FETCHED);
+
+        assertThat(result).isEqualTo(new CopyLoadResult(2, 2, 2, 2, 0));
+        assertThat(jdbc.queryForObject("SELECT source_url FROM daily_report WHERE report_date = ?", String.class, D1))
+                .isEqualTo("https://example.com/a\tb\\c");
+        assertThat(jdbc.queryForObject("SELECT status::text FROM daily_report WHERE report_date = ?", String.class, D2))
+                .isEqualTo("bad_weather");
+        assertThat(counts(D1)).containsExactlyInAnyOrderEntriesOf(Map.of("humpback-whale", 3, "common-dolphin", 2800));
+    }
+
+    @Test
+    @Transactional
+    void copyLoad_skipsUnchangedDays_andReconcilesObservationsOfChangedOnes() {
+        dailyReportRepo.copyLoad(Stream.of(
+                report(D1, ReportStatus.ok, "https://example.com/",
+                        new ParsedObservation("humpback-whale", 3),
+                        new ParsedObservation("common-dolphin", 2800)),
+                report(D2, ReportStatus.ok, "https://example.com/",
+                        new ParsedObservation("gray-whale", 4))
+        ), FETCHED);
+        // manual edit that an unchanged checksum must not overwrite
+        jdbc.update("UPDATE observation SET individuals = 99 WHERE report_date = ?", D2);
+
+        CopyLoadResult result = dailyReportRepo.copyLoad(Stream.of(
+                report(D1, ReportStatus.ok, "https://example.com/",
+                        new ParsedObservation("common-dolphin", 3100),
+                        new ParsedObservation("minke-whale", 1)),
+                report(D2, ReportStatus.ok, "https://example.com/",
+                        new ParsedObservation("gray-whale", 4))
+        ), FETCHED.plusDays(1));
+
+        assertThat(result).isEqualTo(new CopyLoadResult(2, 3, 1, 2, 1));
+        assertThat(counts(D1)).containsExactlyInAnyOrderEntriesOf(Map.of("common-dolphin", 3100, "minke-whale", 1));
+        assertThat(counts(D2)).containsExactlyInAnyOrderEntriesOf(Map.of("gray-whale", 99));
+        assertThat(jdbc.queryForObject("SELECT version FROM daily_report WHERE report_date = ?", Integer.class, D1))
+                .isEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    void copyLoad_streamsLargeBackfill_acrossManyFlushes() {
+        int days = 365;
+        List<String> species = jdbc.queryForList("SELECT id FROM species ORDER BY id LIMIT 20", String.class);
+
+        CopyLoadResult result = dailyReportRepo.copyLoad(IntStream.range(0, days).mapToObj(i ->
+                new ParsedReport(D1.plusDays(i), 3, ReportStatus.ok,
+                        species.stream().map(s -> new ParsedObservation(s, 10 + s.length())).toList(),
+                        "https://example.com/backfill")
+        ), FETCHED);
+
+        assertThat(result.stagedReports()).isEqualTo(days);
+        assertThat(result.observationsWritten()).isEqualTo(days * species.size());
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM observation WHERE report_date BETWEEN ? AND ?",
+                Integer.class, D1, D1.plusDays(days - 1))).isEqualTo(days * species.size());
+    }
+
+    // ---- helpers ----
+
+    private static ParsedReport report(LocalDate date, ReportStatus status, String url, ParsedObservation... obs) {
+        return new ParsedReport(date, 2, status, List.of(obs), url);
+    }
+
+    private Map<String, Integer> counts(LocalDate date) {
+        return jdbc.queryForList("SELECT species_id, individuals FROM observation WHERE report_date = ?", date)
+                .stream().collect(Collectors.toMap(
+                        r -> (String) r.get("species_id"),
+                        r -> ((Number) r.get("individuals")).intValue()));
+    }
+}
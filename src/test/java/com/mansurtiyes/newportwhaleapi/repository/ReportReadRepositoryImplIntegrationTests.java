@@ -1,7 +1,10 @@
 package com.mansurtiyes.newportwhaleapi.repository;
 
+import com.mansurtiyes.newportwhaleapi.dto.CountMode;
+import com.mansurtiyes.newportwhaleapi.dto.CursorPage;
 import com.mansurtiyes.newportwhaleapi.dto.report.ObservationDto;
 import com.mansurtiyes.newportwhaleapi.dto.report.ReportDTO;
+import com.mansurtiyes.newportwhaleapi.exception.InvalidCursorException;
 import com.mansurtiyes.newportwhaleapi.model.ReportStatus;
 import com.mansurtiyes.newportwhaleapi.model.SightingGroup;
 import org.junit.jupiter.api.DisplayName;
@@ -12,16 +15,23 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -31,6 +41,9 @@ public class ReportReadRepositoryImplIntegrationTests {
     @Autowired
     private ReportReadRepository repo;
 
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
     // --- helpers ---
     private static Map<String, Integer> toMap(List<ObservationDto> list) {
         return list.stream().collect(Collectors.toMap(ObservationDto::speciesId, ObservationDto::count));
@@ -214,4 +227,224 @@ public class ReportReadRepositoryImplIntegrationTests {
         assertThat(opt).isEmpty();
     }
 
+    // -------------------------------------------------------
+    // 10) Keyset pages: walking the cursor yields exactly the offset pages, with no totals
+    // -------------------------------------------------------
+    @Test
+    @DisplayName("findReportsAfter: cursor walk over Jun–Aug 2025 matches offset paging by date ASC")
+    void findReportsAfter_cursorWalk_matchesOffsetPaging() {
+        LocalDate start = LocalDate.of(2025, 6, 1);
+        LocalDate end   = LocalDate.of(2025, 8, 31);
+        Page<ReportDTO> all = repo.findReports(start, end, null, null, null, null,
+                PageRequest.of(0, 500, Sort.by("date").ascending()));
+
+        List<ReportDTO> walked = walk(start, end, null, Sort.by("date").ascending(), 7);
+
+        assertThat(walked).extracting(ReportDTO::getDate).containsExactlyElementsOf(dates(all));
+        assertThat(walked).extracting(ReportDTO::getObservations)
+                .containsExactlyElementsOf(all.getContent().stream().map(ReportDTO::getObservations).toList());
+    }
+
+    // -------------------------------------------------------
+    // 11) Mixed directions + ties: status ASC, tours DESC, then date (first key's direction) as tiebreaker
+    // -------------------------------------------------------
+    @Test
+    @DisplayName("findReportsAfter: status ASC, tours DESC walks every day once in seek order")
+    void findReportsAfter_mixedSort_withTies() {
+        LocalDate start = LocalDate.of(2025, 4, 1);
+        LocalDate end   = LocalDate.of(2025, 8, 31);
+        List<ReportDTO> all = repo.findReports(start, end, null, null, null, null,
+                PageRequest.of(0, 500, Sort.by("date").ascending())).getContent();
+        List<LocalDate> expected = all.stream()
+                .sorted(Comparator.comparing(ReportDTO::getStatus)
+                        .thenComparing(Comparator.comparingInt(ReportDTO::getTours).reversed())
+                        .thenComparing(ReportDTO::getDate))
+                .map(ReportDTO::getDate)
+                .toList();
+
+        Sort sort = Sort.by(Sort.Order.asc("status"), Sort.Order.desc("tours"));
+        List<ReportDTO> walked = walk(start, end, null, sort, 4);
+
+        assertThat(walked).extracting(ReportDTO::getDate).containsExactlyElementsOf(expected);
+    }
+
+    // -------------------------------------------------------
+    // 12) A cursor only works for the sort it was issued for
+    // -------------------------------------------------------
+    @Test
+    @DisplayName("findReportsAfter: foreign or malformed cursor is rejected")
+    void findReportsAfter_rejectsForeignCursor() {
+        Sort byDate = Sort.by("date").ascending();
+        CursorPage<ReportDTO> first = repo.findReportsAfter(null, null, null, null, null, null, byDate, null, 2);
+        assertThat(first.hasNext()).isTrue();
+
+        assertThatThrownBy(() -> repo.findReportsAfter(null, null, null, null, null, null,
+                Sort.by("tours").descending(), first.nextCursor(), 2))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> repo.findReportsAfter(null, null, null, null, null, null,
+                byDate, "not-a-cursor!", 2))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    // -------------------------------------------------------
+    // 13) Count-free and estimated pages: same rows as the exact page, no COUNT(*)
+    // -------------------------------------------------------
+    @Test
+    @DisplayName("findReports: count=none is a Slice with hasNext; count=estimate is exact on the last page")
+    void findReports_countFreeModes() {
+        LocalDate start = LocalDate.of(2025, 6, 1);
+        LocalDate end   = LocalDate.of(2025, 8, 31);
+        Page<ReportDTO> exact = repo.findReports(start, end, null, SightingGroup.whale, true, null,
+                PageRequest.of(1, 10, Sort.by("date").ascending()));
+        assertThat(exact.getTotalPages()).isGreaterThan(2);
+
+        Slice<ReportDTO> slice = repo.findReports(start, end, null, SightingGroup.whale, true, null,
+                PageRequest.of(1, 10, Sort.by("date").ascending()), CountMode.none);
+        assertThat(slice).isNotInstanceOf(Page.class);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(slice.getContent()).extracting(ReportDTO::getDate).containsExactlyElementsOf(dates(exact));
+        assertThat(slice.getContent()).extracting(ReportDTO::getObservations)
+                .containsExactlyElementsOf(exact.getContent().stream().map(ReportDTO::getObservations).toList());
+
+        Slice<ReportDTO> estimated = repo.findReports(start, end, null, SightingGroup.whale, true, null,
+                PageRequest.of(1, 10, Sort.by("date").ascending()), CountMode.estimate);
+        assertThat(estimated).isInstanceOfSatisfying(Page.class,
+                p -> assertThat(p.getTotalElements()).isGreaterThan(20));
+        assertThat(estimated.getContent()).extracting(ReportDTO::getDate).containsExactlyElementsOf(dates(exact));
+
+        Slice<ReportDTO> last = repo.findReports(start, end, null, SightingGroup.whale, true, null,
+                PageRequest.of(exact.getTotalPages() - 1, 10, Sort.by("date").ascending()), CountMode.estimate);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last).isInstanceOfSatisfying(Page.class,
+                p -> assertThat(p.getTotalElements()).isEqualTo(exact.getTotalElements()));
+    }
+
+    // -------------------------------------------------------
+    // 14) One-statement pages: window total and per-row observations, past-the-end pages keep the total
+    // -------------------------------------------------------
+    @Test
+    @DisplayName("findReports: total and observations match findByDate; page past the end still reports the total")
+    void findReports_singleStatement_totalAndObservations() {
+        LocalDate start = LocalDate.of(2025, 8, 1);
+        LocalDate end   = LocalDate.of(2025, 8, 12);
+        Page<ReportDTO> page = repo.findReports(start, end, null, null, null, null,
+                PageRequest.of(0, 5, Sort.by("tours").descending()));
+        assertThat(page.getTotalElements()).isEqualTo(12);
+        assertThat(page.getContent()).allSatisfy(r ->
+                assertThat(r.getObservations()).isEqualTo(repo.findByDate(r.getDate()).orElseThrow().getObservations()));
+
+        Page<ReportDTO> beyond = repo.findReports(start, end, null, null, null, null, PageRequest.of(10, 5));
+        assertThat(beyond.getContent()).isEmpty();
+        assertThat(beyond.getTotalElements()).isEqualTo(12);
+    }
+
+    // -------------------------------------------------------
+    // 15) Per-shape SQL: only present predicates are emitted, and each shape can use its index
+    //     (seq scans disabled so the tiny test tables don't hide an unusable predicate)
+    // -------------------------------------------------------
+    @Test
+    @Transactional
+    @DisplayName("pageSql: window, status and speciesId shapes have no catch-all predicates and use their indexes")
+    void pageSql_perShape_usesIndexes() {
+        jdbc.getJdbcTemplate().execute("SET LOCAL enable_seqscan = off");
+
+        MapSqlParameterSource window = new MapSqlParameterSource();
+        ReportReadRepositoryImpl.FilterShape windowShape = ReportReadRepositoryImpl.filters(window,
+                LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 12), null, null, null, null);
+        assertThat(explainPage(windowShape, window)).containsAnyOf("ix_daily_report_date", "daily_report_pkey");
+
+        MapSqlParameterSource status = new MapSqlParameterSource();
+        ReportReadRepositoryImpl.FilterShape statusShape = ReportReadRepositoryImpl.filters(status,
+                null, null, null, null, null, ReportStatus.bad_weather);
+        assertThat(explainPage(statusShape, status)).containsAnyOf("ix_daily_report_status", "ix_daily_report_status_date");
+
+        MapSqlParameterSource species = new MapSqlParameterSource();
+        ReportReadRepositoryImpl.FilterShape speciesShape = ReportReadRepositoryImpl.filters(species,
+                null, null, "blue-whale", null, null, null);
+        assertThat(explainPage(speciesShape, species)).containsAnyOf("ix_observation_species_date", "observation_pkey");
+
+        // same shape, other values: one cached SQL text
+        ReportReadRepositoryImpl.FilterShape sameShape = ReportReadRepositoryImpl.filters(new MapSqlParameterSource(),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1), null, null, null, null);
+        assertThat(ReportReadRepositoryImpl.pageSql(sameShape, Sort.unsorted()))
+                .isSameAs(ReportReadRepositoryImpl.pageSql(windowShape, Sort.unsorted()));
+    }
+
+    // -------------------------------------------------------
+    // 16) Repeated or unknown sort params collapse to one ORDER BY, so the per-shape SQL cache stays bounded
+    // -------------------------------------------------------
+    @Test
+    @DisplayName("pageSql: repeated sort params keep the first direction and share one cached SQL text")
+    void pageSql_repeatedSort_isNormalized() {
+        ReportReadRepositoryImpl.FilterShape shape = ReportReadRepositoryImpl.filters(new MapSqlParameterSource(),
+                null, null, null, null, null, null);
+        String once = ReportReadRepositoryImpl.pageSql(shape, Sort.by(Sort.Order.desc("tours")));
+        String repeated = ReportReadRepositoryImpl.pageSql(shape, Sort.by(
+                Sort.Order.desc("tours"), Sort.Order.asc("tours"), Sort.Order.asc("bogus"), Sort.Order.desc("tours")));
+        assertThat(repeated).isSameAs(once).endsWith("ORDER BY d.tours DESC");
+    }
+
+    // -------------------------------------------------------
+    // 17) Per-shape SQL for the remaining filters: end-only is a range on report_date; group and hasSightings are
+    //     correlated EXISTS, so every day is a candidate and the index work is the per-day observation probe.
+    //     Explained on daily_report alone, since the page's observations join reads observation_pkey anyway.
+    // -------------------------------------------------------
+    @Test
+    @Transactional
+    @DisplayName("pageSql: end-only, group and hasSightings shapes probe their indexes")
+    void pageSql_existsShapes_useIndexes() {
+        jdbc.getJdbcTemplate().execute("SET LOCAL enable_seqscan = off");
+
+        MapSqlParameterSource endOnly = new MapSqlParameterSource();
+        ReportReadRepositoryImpl.FilterShape endShape = ReportReadRepositoryImpl.filters(endOnly,
+                null, LocalDate.of(2025, 8, 12), null, null, null, null);
+        assertThat(explainPage(endShape, endOnly)).containsAnyOf("ix_daily_report_date", "daily_report_pkey");
+
+        for (Boolean hasSightings : new Boolean[] {null, true, false}) {
+            MapSqlParameterSource group = new MapSqlParameterSource();
+            ReportReadRepositoryImpl.FilterShape groupShape = ReportReadRepositoryImpl.filters(group,
+                    null, null, null, SightingGroup.shark, hasSightings, null);
+            String plan = explainFilter(groupShape, group);
+            assertThat(plan).as("group, hasSightings=%s", hasSightings)
+                    .containsAnyOf("ix_species_group", "species_pkey")
+                    .containsAnyOf("observation_pkey", "ix_observation_species", "ix_observation_species_date")
+                    .doesNotContain("Seq Scan");
+        }
+
+        for (boolean hasSightings : new boolean[] {true, false}) {
+            MapSqlParameterSource any = new MapSqlParameterSource();
+            ReportReadRepositoryImpl.FilterShape anyShape = ReportReadRepositoryImpl.filters(any,
+                    null, null, null, null, hasSightings, null);
+            String plan = explainFilter(anyShape, any);
+            assertThat(plan).as("hasSightings=%s", hasSightings)
+                    .containsAnyOf("observation_pkey", "ix_observation_species", "ix_observation_species_date")
+                    .doesNotContain("Seq Scan");
+        }
+    }
+
+    private String explainPage(ReportReadRepositoryImpl.FilterShape shape, MapSqlParameterSource params) {
+        String sql = ReportReadRepositoryImpl.pageSql(shape, Sort.unsorted());
+        assertThat(sql).doesNotContain("IS NULL");
+        params.addValue("limit", 20).addValue("offset", 0L);
+        return String.join("\n", jdbc.query("EXPLAIN " + sql, params, (rs, n) -> rs.getString(1)));
+    }
+
+    private String explainFilter(ReportReadRepositoryImpl.FilterShape shape, MapSqlParameterSource params) {
+        String sql = "SELECT d.report_date FROM daily_report d" + shape.where();
+        return String.join("\n", jdbc.query("EXPLAIN " + sql, params, (rs, n) -> rs.getString(1)));
+    }
+
+    private List<ReportDTO> walk(LocalDate start, LocalDate end, SightingGroup group, Sort sort, int size) {
+        List<ReportDTO> out = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ReportDTO> page = repo.findReportsAfter(start, end, null, group, null, null, sort, cursor, size);
+            assertThat(page.content()).hasSizeLessThanOrEqualTo(size);
+            assertThat(page.hasNext()).isEqualTo(page.nextCursor() != null);
+            out.addAll(page.content());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return out;
+    }
+
 }
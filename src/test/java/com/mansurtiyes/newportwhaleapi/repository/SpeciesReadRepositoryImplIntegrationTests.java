@@ -1,5 +1,6 @@
 package com.mansurtiyes.newportwhaleapi.repository;
 
+import com.mansurtiyes.newportwhaleapi.dto.CountMode;
 import com.mansurtiyes.newportwhaleapi.dto.SpeciesDTO;
 import com.mansurtiyes.newportwhaleapi.model.SightingGroup;
 import org.junit.jupiter.api.DisplayName;
@@ -9,8 +10,13 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Types;
 import java.time.LocalDate;
 import java.util.Optional;
 
@@ -24,6 +30,9 @@ public class SpeciesReadRepositoryImplIntegrationTests {
     @Autowired
     private SpeciesReadRepository repo;
 
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
     @Test
     @DisplayName("findAllWithRollups: filters by group=whale and paginates")
     void list_whales_with_rollups_and_pagination() {
@@ -124,4 +133,76 @@ public class SpeciesReadRepositoryImplIntegrationTests {
                 .allSatisfy(dto -> assertThat(dto.getGroup()).isEqualTo(SightingGroup.shark));
     }
 
+    @Test
+    @Transactional
+    @DisplayName("byIdSql: every window shape drops catch-all predicates and reads observations by index")
+    void byIdSql_perShape_usesObservationIndex() {
+        // seq scans off so the tiny test tables don't hide an unusable predicate
+        jdbc.getJdbcTemplate().execute("SET LOCAL enable_seqscan = off");
+
+        for (boolean start : new boolean[] {false, true}) {
+            for (boolean end : new boolean[] {false, true}) {
+                String sql = SpeciesReadRepositoryImpl.byIdSql(start, end);
+                assertThat(sql).doesNotContain("IS NULL").doesNotContain("CASE WHEN");
+
+                MapSqlParameterSource params = new MapSqlParameterSource("id", "blue-whale");
+                if (start) params.addValue("start", LocalDate.of(2025, 5, 1), Types.DATE);
+                if (end) params.addValue("end", LocalDate.of(2025, 8, 31), Types.DATE);
+                String plan = String.join("\n", jdbc.query("EXPLAIN " + sql, params, (rs, n) -> rs.getString(1)));
+
+                assertThat(plan).as("start=%s end=%s", start, end)
+                        .containsAnyOf("ix_observation_species_date", "ix_observation_species", "observation_pkey");
+            }
+        }
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("listSql: every group/search shape drops catch-all predicates; group shapes read species by ix_species_group")
+    void listSql_perShape_usesIndexes() {
+        jdbc.getJdbcTemplate().execute("SET LOCAL enable_seqscan = off");
+
+        for (boolean group : new boolean[] {false, true}) {
+            for (boolean search : new boolean[] {false, true}) {
+                String sql = SpeciesReadRepositoryImpl.listSql("page", group, search);
+                assertThat(sql).doesNotContain("IS NULL");
+
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                        .addValue("limit", 20).addValue("offset", 0L);
+                if (group) params.addValue("group", SightingGroup.whale.name(), Types.VARCHAR);
+                if (search) params.addValue("like", "%blue%", Types.VARCHAR);
+                String plan = String.join("\n", jdbc.query("EXPLAIN " + sql, params, (rs, n) -> rs.getString(1)));
+
+                // rollups join observations per species by index in every shape
+                assertThat(plan).as("group=%s search=%s", group, search)
+                        .containsAnyOf("ix_observation_species_date", "ix_observation_species", "observation_pkey");
+                // the group filter is an index condition; a search alone is '%q%' ILIKE over names and unnested
+                // aliases, which no btree (or the aliases GIN) can serve, so it stays a filter over all species
+                if (group) {
+                    assertThat(plan).as("group=%s search=%s", group, search).contains("ix_species_group");
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("findAllWithRollups: count=none and count=estimate return the exact page's rows")
+    void list_without_exact_count() {
+        Page<SpeciesDTO> exact = repo.findAllWithRollups(null, null, PageRequest.of(0, 5));
+        assertThat(exact.getTotalElements()).isGreaterThan(5);
+
+        Slice<SpeciesDTO> slice = repo.findAllWithRollups(null, null, PageRequest.of(0, 5), CountMode.none);
+        assertThat(slice).isNotInstanceOf(Page.class);
+        assertThat(slice.getContent()).extracting(SpeciesDTO::getId)
+                .containsExactlyElementsOf(exact.getContent().stream().map(SpeciesDTO::getId).toList());
+        assertThat(slice.hasNext()).isTrue();
+
+        // last page: no next, and the estimated total is exact
+        int lastPage = exact.getTotalPages() - 1;
+        Slice<SpeciesDTO> last = repo.findAllWithRollups(null, null, PageRequest.of(lastPage, 5), CountMode.estimate);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last).isInstanceOfSatisfying(Page.class,
+                p -> assertThat(p.getTotalElements()).isEqualTo(exact.getTotalElements()));
+    }
+
 }